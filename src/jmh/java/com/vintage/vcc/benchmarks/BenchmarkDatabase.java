@@ -0,0 +1,131 @@
+package com.vintage.vcc.benchmarks;
+
+import com.vintage.vcc.VintageCarClubApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with
+ * {@code rows} members, each owning one vehicle.
+ * <p>
+ * The application runs on the main configuration with the {@code benchmark} profile on top, and the data is seeded
+ * once the context is refreshed but before it is ready, so the indexes built on startup see it.
+ */
+final class BenchmarkDatabase {
+    static final String[] MAKES = {"Alfa Romeo", "Aston Martin", "Bentley", "BMW", "Bugatti", "Cadillac", "Chevrolet",
+            "Citroen", "Dodge", "Ferrari", "Ford", "Jaguar", "Lancia", "Mercedes", "MG", "Packard", "Peugeot",
+            "Porsche", "Rolls Royce", "Triumph"};
+    static final String[] MODELS = {"Roadster", "Coupe", "Tourer", "Saloon", "Spider"};
+    static final String[] CITIES = {"Lyon", "Paris", "New York", "Los Angeles", "Honolulu", "Philadelphia", "Turin",
+            "Stuttgart", "London", "Geneva"};
+
+    /**
+     * Where the benchmark Maven profile copies the main application properties.
+     */
+    static final String CONFIG_LOCATION = "--spring.config.location=classpath:/benchmark/";
+
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(int rows) {
+        return start(rows, WebApplicationType.NONE);
+    }
+
+    /**
+     * Same as {@link #start(int)}, but also starts the embedded web server on a random port,
+     * available as {@code local.server.port}.
+     */
+    static ConfigurableApplicationContext startServer(int rows, String... args) {
+        return start(rows, WebApplicationType.SERVLET, args);
+    }
+
+    private static ConfigurableApplicationContext start(int rows, WebApplicationType webApplicationType, String... args) {
+        List<String> arguments = new ArrayList<>(List.of(
+                CONFIG_LOCATION,
+                "--spring.datasource.url=jdbc:h2:mem:bench_" + rows + "_" + System.nanoTime()
+                        + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR"));
+        arguments.addAll(List.of(args));
+        return application()
+                .web(webApplicationType)
+                .listeners(event -> {
+                    if (event instanceof ApplicationStartedEvent started) {
+                        seed(started.getApplicationContext().getBean(JdbcTemplate.class), rows);
+                    }
+                })
+                .run(arguments.toArray(String[]::new));
+    }
+
+    /**
+     * The application with the {@code benchmark} profile; run it with {@link #CONFIG_LOCATION} among the arguments.
+     */
+    static SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(VintageCarClubApplication.class).profiles("benchmark");
+    }
+
+    static String licensePlate(int i) {
+        return String.format("PL-%07d", i);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        batchInsert(jdbcTemplate, rows,
+                "INSERT INTO members (member_id, first_name, last_name, email, gender, city) VALUES (?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, "First" + i);
+                    ps.setString(3, "Last" + i);
+                    ps.setString(4, "member" + i + "@example.com");
+                    ps.setString(5, i % 2 == 0 ? "F" : "M");
+                    ps.setString(6, CITIES[i % CITIES.length]);
+                });
+        batchInsert(jdbcTemplate, rows,
+                "INSERT INTO vehicles (license_plate, make, model, year) VALUES (?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setString(1, licensePlate(i));
+                    ps.setString(2, MAKES[i % MAKES.length]);
+                    ps.setString(3, MODELS[i % MODELS.length]);
+                    ps.setInt(4, 1900 + i % 90);
+                });
+        batchInsert(jdbcTemplate, rows,
+                "INSERT INTO member_vehicle (member_id, license_plate) VALUES (?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, i + 1);
+                    ps.setString(2, licensePlate(i));
+                });
+        // Leave room for the pooled optimizer, which hands out ids below the sequence value it reads.
+        jdbcTemplate.execute("ALTER SEQUENCE members_seq RESTART WITH " + (rows + 100));
+    }
+
+    private static void batchInsert(JdbcTemplate jdbcTemplate, int rows, String sql, RowSetter rowSetter) {
+        for (int from = 0; from < rows; from += SEED_BATCH_SIZE) {
+            int start = from;
+            int size = Math.min(SEED_BATCH_SIZE, rows - from);
+            jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    rowSetter.set(ps, start + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+}
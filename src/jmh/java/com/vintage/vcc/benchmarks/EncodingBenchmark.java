@@ -0,0 +1,111 @@
+package com.vintage.vcc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the {@code GET /api/members} and {@code GET /api/vehicles} payloads as JSON and as Smile, the latter
+ * configured as the API writes it, each with and without gzip. The encoded sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EncodingBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"JSON", "SMILE"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<MemberDTO> members;
+    private List<VehicleDTO> vehicles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = "SMILE".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile()
+                        .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                        .build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        members = new ArrayList<>(rows);
+        vehicles = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            MemberDTO memberDTO = new MemberDTO();
+            memberDTO.setMemberId((long) i + 1);
+            memberDTO.setFirstName("First" + i);
+            memberDTO.setLastName("Last" + i);
+            memberDTO.setEmail("member" + i + "@example.com");
+            memberDTO.setGender(i % 2 == 0 ? 'F' : 'M');
+            memberDTO.setCity(BenchmarkDatabase.CITIES[i % BenchmarkDatabase.CITIES.length]);
+            memberDTO.setVersion(0L);
+
+            VehicleDTO vehicleDTO = new VehicleDTO();
+            vehicleDTO.setLicensePlate(BenchmarkDatabase.licensePlate(i));
+            vehicleDTO.setMake(BenchmarkDatabase.MAKES[i % BenchmarkDatabase.MAKES.length]);
+            vehicleDTO.setModel(BenchmarkDatabase.MODELS[i % BenchmarkDatabase.MODELS.length]);
+            vehicleDTO.setYear(1900 + i % 90);
+            vehicleDTO.setVersion(0L);
+
+            MemberDTO ownerDTO = new MemberDTO();
+            ownerDTO.setMemberId(memberDTO.getMemberId());
+            ownerDTO.setFirstName(memberDTO.getFirstName());
+            ownerDTO.setLastName(memberDTO.getLastName());
+            ownerDTO.setEmail(memberDTO.getEmail());
+            ownerDTO.setGender(memberDTO.getGender());
+            ownerDTO.setCity(memberDTO.getCity());
+            ownerDTO.setVersion(0L);
+
+            VehicleDTO ownedVehicleDTO = new VehicleDTO();
+            ownedVehicleDTO.setLicensePlate(vehicleDTO.getLicensePlate());
+            ownedVehicleDTO.setMake(vehicleDTO.getMake());
+            ownedVehicleDTO.setModel(vehicleDTO.getModel());
+            ownedVehicleDTO.setYear(vehicleDTO.getYear());
+            ownedVehicleDTO.setVersion(0L);
+
+            memberDTO.setVehicles(List.of(ownedVehicleDTO));
+            vehicleDTO.setOwners(List.of(ownerDTO));
+            members.add(memberDTO);
+            vehicles.add(vehicleDTO);
+        }
+        System.out.printf("%n%d members as %s%s: %,d bytes, vehicles: %,d bytes%n", rows, format, gzip ? "+gzip" : "",
+                serializeMembers(), serializeVehicles());
+    }
+
+    @Benchmark
+    public long serializeMembers() throws IOException {
+        return encode(members);
+    }
+
+    @Benchmark
+    public long serializeVehicles() throws IOException {
+        return encode(vehicles);
+    }
+
+    private long encode(Object value) throws IOException {
+        SerializationBenchmark.CountingOutputStream counter = new SerializationBenchmark.CountingOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter) {
+            objectMapper.writeValue(out, value);
+        }
+        return counter.count;
+    }
+}
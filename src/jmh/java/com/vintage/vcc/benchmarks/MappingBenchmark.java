@@ -0,0 +1,82 @@
+package com.vintage.vcc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.mappers.EntityMapper;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MappingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private EntityMapper entityMapper;
+    private Member member;
+    private Vehicle vehicle;
+    private MemberDTO memberDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entityMapper = new EntityMapper();
+
+        member = new Member();
+        member.setMemberId(1L);
+        member.setFirstName("Julia");
+        member.setLastName("Roberts");
+        member.setEmail("julia.roberts@example.com");
+        member.setGender('F');
+        member.setCity("New York");
+        for (int i = 0; i < 3; i++) {
+            Vehicle owned = new Vehicle();
+            owned.setLicensePlate("ERS-50" + i);
+            owned.setMake("Mercedes");
+            owned.setModel("300SL");
+            owned.setYear(1955 + i);
+            owned.getOwners().add(member);
+            member.getVehicles().add(owned);
+        }
+        vehicle = member.getVehicles().get(0);
+        memberDTO = entityMapper.toMemberDTO(member, EntityMapper.SCALARS_ONLY);
+    }
+
+    @Benchmark
+    public MemberDTO memberToDTO_convertValue() {
+        return objectMapper.convertValue(member, MemberDTO.class);
+    }
+
+    @Benchmark
+    public MemberDTO memberToDTO_entityMapper() {
+        return entityMapper.toMemberDTO(member, EntityMapper.WITH_LINKED);
+    }
+
+    @Benchmark
+    public VehicleDTO vehicleToDTO_convertValue() {
+        return objectMapper.convertValue(vehicle, VehicleDTO.class);
+    }
+
+    @Benchmark
+    public VehicleDTO vehicleToDTO_entityMapper() {
+        return entityMapper.toVehicleDTO(vehicle, EntityMapper.SCALARS_ONLY);
+    }
+
+    @Benchmark
+    public Member dtoToMember_convertValue() {
+        return objectMapper.convertValue(memberDTO, Member.class);
+    }
+
+    @Benchmark
+    public Member dtoToMember_entityMapper() {
+        return entityMapper.toMember(memberDTO);
+    }
+}
@@ -0,0 +1,67 @@
+package com.vintage.vcc.benchmarks;
+
+import com.vintage.vcc.model.dtos.CoOwnerDTO;
+import com.vintage.vcc.model.dtos.OwnershipComponentDTO;
+import com.vintage.vcc.services.OwnershipGraphService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph queries over the seeded roster, with every {@value #GROUP_SIZE} consecutive members also co-owning the
+ * first one's vehicle, so each member has co-owners and belongs to a component of that size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class OwnershipGraphBenchmark {
+    private static final int GROUP_SIZE = 5;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private OwnershipGraphService ownershipGraphService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        context.getBean(JdbcTemplate.class).update("INSERT INTO member_vehicle (member_id, license_plate) " +
+                "SELECT member_id, 'PL-' || LPAD(CAST(member_id - 1 - MOD(member_id - 1, ?) AS VARCHAR), 7, '0') " +
+                "FROM members WHERE MOD(member_id - 1, ?) <> 0", GROUP_SIZE, GROUP_SIZE);
+        ownershipGraphService = context.getBean(OwnershipGraphService.class);
+        // The co-ownership links are added after the graph is built on startup.
+        ownershipGraphService.rebuildGraph();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CoOwnerDTO> getCoOwners() {
+        return ownershipGraphService.getCoOwners(randomMemberId());
+    }
+
+    @Benchmark
+    public OwnershipComponentDTO getComponent() {
+        return ownershipGraphService.getComponent(randomMemberId());
+    }
+
+    @Benchmark
+    public List<OwnershipComponentDTO> getClusters() {
+        return ownershipGraphService.getClusters("Lyon", 2, 50);
+    }
+
+    private long randomMemberId() {
+        return ThreadLocalRandom.current().nextInt(rows) + 1;
+    }
+}
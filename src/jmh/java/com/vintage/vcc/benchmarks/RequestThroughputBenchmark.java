@@ -0,0 +1,72 @@
+package com.vintage.vcc.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the HTTP layer on platform versus virtual request threads. Each invocation sends
+ * {@value #CONCURRENCY} simultaneous member lookups and the score is requests per second. That is well above
+ * Tomcat's default 200 platform threads, so the platform mode queues requests the virtual mode is already running;
+ * the gap grows with the time each request spends waiting on the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RequestThroughputBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int CONCURRENCY = 1000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.startServer(ROWS,
+                "--vcc.server.virtual-threads=" + "virtual".equals(threads),
+                "--vcc.search.index-on-startup=false");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/members/";
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public int getMemberById_concurrent() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            long memberId = ThreadLocalRandom.current().nextInt(ROWS) + 1;
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + memberId)).GET().build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.vintage.vcc.benchmarks;
+
+import com.vintage.vcc.model.dtos.GroupCountDTO;
+import com.vintage.vcc.services.RosterStatsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard aggregates from the in-memory roster snapshot against the equivalent SQL {@code GROUP BY} queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RosterStatsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private RosterStatsService rosterStatsService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        rosterStatsService = context.getBean(RosterStatsService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GroupCountDTO> membersByCity_snapshot() {
+        return rosterStatsService.countMembersByCity();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> membersByCity_sql() {
+        return jdbcTemplate.queryForList("SELECT city, COUNT(*) FROM members GROUP BY city ORDER BY COUNT(*) DESC, city");
+    }
+
+    @Benchmark
+    public List<GroupCountDTO> vehiclesByMake_snapshot() {
+        return rosterStatsService.countVehiclesByMake();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> vehiclesByMake_sql() {
+        return jdbcTemplate.queryForList("SELECT make, COUNT(*) FROM vehicles GROUP BY make ORDER BY COUNT(*) DESC, make");
+    }
+
+    @Benchmark
+    public List<GroupCountDTO> vehiclesByDecade_snapshot() {
+        return rosterStatsService.getVehicleYearHistogram(10);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> vehiclesByDecade_sql() {
+        return jdbcTemplate.queryForList("SELECT year / 10 * 10 AS decade, COUNT(*) FROM vehicles GROUP BY year / 10 * 10 ORDER BY decade");
+    }
+}
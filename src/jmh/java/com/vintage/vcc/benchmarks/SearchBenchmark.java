@@ -0,0 +1,60 @@
+package com.vintage.vcc.benchmarks;
+
+import com.vintage.vcc.model.dtos.SearchResultDTO;
+import com.vintage.vcc.services.SearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled so the JMH report includes the p99 latency of each query shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class SearchBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private SearchService searchService;
+    private String memberEmail;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        searchService = context.getBean(SearchService.class);
+        memberEmail = "member" + rows / 2 + "@example.com";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> search_freeText() {
+        return searchService.search("that red Jag from Lyon", 20);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> search_typo() {
+        return searchService.search("Porshe Stutgart", 20);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> search_email() {
+        return searchService.search(memberEmail, 20);
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> search_licensePlate() {
+        return searchService.search(BenchmarkDatabase.licensePlate(rows / 3), 20);
+    }
+}
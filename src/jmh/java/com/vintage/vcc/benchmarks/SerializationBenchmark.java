@@ -0,0 +1,83 @@
+package com.vintage.vcc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<MemberDTO> members;
+    private List<VehicleDTO> vehicles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        members = new ArrayList<>(rows);
+        vehicles = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            MemberDTO memberDTO = new MemberDTO();
+            memberDTO.setMemberId((long) i + 1);
+            memberDTO.setFirstName("First" + i);
+            memberDTO.setLastName("Last" + i);
+            memberDTO.setEmail("member" + i + "@example.com");
+            memberDTO.setGender(i % 2 == 0 ? 'F' : 'M');
+            memberDTO.setCity(BenchmarkDatabase.CITIES[i % BenchmarkDatabase.CITIES.length]);
+
+            VehicleDTO vehicleDTO = new VehicleDTO();
+            vehicleDTO.setLicensePlate(BenchmarkDatabase.licensePlate(i));
+            vehicleDTO.setMake(BenchmarkDatabase.MAKES[i % BenchmarkDatabase.MAKES.length]);
+            vehicleDTO.setModel(BenchmarkDatabase.MODELS[i % BenchmarkDatabase.MODELS.length]);
+            vehicleDTO.setYear(1900 + i % 90);
+
+            memberDTO.setVehicles(List.of(vehicleDTO));
+            members.add(memberDTO);
+            vehicles.add(vehicleDTO);
+        }
+    }
+
+    @Benchmark
+    public long serializeMembers() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, members);
+        return out.count;
+    }
+
+    @Benchmark
+    public long serializeVehicles() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        objectMapper.writeValue(out, vehicles);
+        return out.count;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.vintage.vcc.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start, from {@code SpringApplication.run} until the application is ready, once per fresh JVM. The database
+ * already holds the current schema, as it would when a pod is added: {@code ddl-auto} diffs it against the entity
+ * mappings, while {@code migrations} starts with the prod profile and only checks Flyway's history table.
+ * <p>
+ * AOT code and the CDS archive need the packaged jar; compare those with the {@code fast-startup} Maven profile and
+ * the "Started ... in" line of the application log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 10, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StartupBenchmark {
+
+    @Param({"ddl-auto", "migrations"})
+    private String schema;
+
+    private String url;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        url = "jdbc:h2:mem:startup_" + System.nanoTime()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        List<String> arguments = new ArrayList<>(List.of(
+                BenchmarkDatabase.CONFIG_LOCATION,
+                "--spring.datasource.url=" + url));
+        if (schema.equals("ddl-auto")) {
+            arguments.addAll(List.of("--spring.jpa.hibernate.ddl-auto=update", "--spring.flyway.enabled=false"));
+        } else {
+            arguments.addAll(List.of("--spring.profiles.active=prod", "--spring.jpa.hibernate.ddl-auto=none",
+                    "--spring.flyway.enabled=true"));
+        }
+        context = BenchmarkDatabase.application().run(arguments.toArray(String[]::new));
+        return context;
+    }
+}
@@ -0,0 +1,68 @@
+package com.vintage.vcc.benchmarks;
+
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.VehiclePageDTO;
+import com.vintage.vcc.services.VehicleService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class VehicleServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private VehicleService vehicleService;
+    private int nextPlate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(rows);
+        vehicleService = context.getBean(VehicleService.class);
+        nextPlate = rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VehicleDTO> getAllVehicles() {
+        return vehicleService.getAllVehicles();
+    }
+
+    @Benchmark
+    public List<VehicleDTO> getVehiclesByParams_make() {
+        return vehicleService.getVehiclesByParams(null, "Jaguar", null, null);
+    }
+
+    @Benchmark
+    public List<VehicleDTO> getVehiclesByParams_licensePlate() {
+        return vehicleService.getVehiclesByParams(BenchmarkDatabase.licensePlate(rows / 2), null, null, null);
+    }
+
+    @Benchmark
+    public VehiclePageDTO searchVehicles_makePrefixAndYearRange() {
+        return vehicleService.searchVehicles(null, "jag", null, 1950, 1970, 0, 20);
+    }
+
+    @Benchmark
+    public VehicleDTO createVehicle() {
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate(BenchmarkDatabase.licensePlate(nextPlate++));
+        vehicleDTO.setMake("Jaguar");
+        vehicleDTO.setModel("E-Type");
+        vehicleDTO.setYear(1963);
+        return vehicleService.createVehicle(vehicleDTO);
+    }
+}
@@ -0,0 +1,4 @@
+package com.vintage.vcc.analytics;
+
+public record GroupCount(String key, long count) {
+}
@@ -0,0 +1,278 @@
+package com.vintage.vcc.analytics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Columnar copy of the member and vehicle attributes the dashboards group by.
+ * <p>
+ * Every attribute is a primitive column indexed by row: strings are dictionary-encoded into {@code int} codes and
+ * years are stored as they are, so a group-by is one pass over an {@code int[]} into an array of counters. Rows stay
+ * dense: removing one moves the last row into its place. Dictionary entries are kept until {@link #clear()}, and
+ * groups whose count has dropped to zero are left out of the results.
+ */
+@Component
+public class RosterSnapshot {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> memberRows = new HashMap<>();
+    private final Map<String, Integer> vehicleRows = new HashMap<>();
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary genders = new Dictionary();
+    private final Dictionary makes = new Dictionary();
+    private final Dictionary models = new Dictionary();
+    private long[] memberIds = new long[INITIAL_CAPACITY];
+    private int[] memberCities = new int[INITIAL_CAPACITY];
+    private int[] memberGenders = new int[INITIAL_CAPACITY];
+    private int memberCount;
+    private String[] licensePlates = new String[INITIAL_CAPACITY];
+    private int[] vehicleMakes = new int[INITIAL_CAPACITY];
+    private int[] vehicleModels = new int[INITIAL_CAPACITY];
+    private int[] vehicleYears = new int[INITIAL_CAPACITY];
+    private int vehicleCount;
+
+    public void putMember(long memberId, String city, char gender) {
+        lock.writeLock().lock();
+        try {
+            Integer row = memberRows.get(memberId);
+            if (row == null) {
+                if (memberCount == memberIds.length) {
+                    int capacity = memberCount * 2;
+                    memberIds = Arrays.copyOf(memberIds, capacity);
+                    memberCities = Arrays.copyOf(memberCities, capacity);
+                    memberGenders = Arrays.copyOf(memberGenders, capacity);
+                }
+                row = memberCount++;
+                memberIds[row] = memberId;
+                memberRows.put(memberId, row);
+            }
+            memberCities[row] = cities.encode(city);
+            memberGenders[row] = genders.encode(String.valueOf(gender));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMember(long memberId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = memberRows.remove(memberId);
+            if (row == null) {
+                return;
+            }
+            int last = --memberCount;
+            if (row != last) {
+                memberIds[row] = memberIds[last];
+                memberCities[row] = memberCities[last];
+                memberGenders[row] = memberGenders[last];
+                memberRows.put(memberIds[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putVehicle(String licensePlate, String make, String model, int year) {
+        lock.writeLock().lock();
+        try {
+            Integer row = vehicleRows.get(licensePlate);
+            if (row == null) {
+                if (vehicleCount == licensePlates.length) {
+                    int capacity = vehicleCount * 2;
+                    licensePlates = Arrays.copyOf(licensePlates, capacity);
+                    vehicleMakes = Arrays.copyOf(vehicleMakes, capacity);
+                    vehicleModels = Arrays.copyOf(vehicleModels, capacity);
+                    vehicleYears = Arrays.copyOf(vehicleYears, capacity);
+                }
+                row = vehicleCount++;
+                licensePlates[row] = licensePlate;
+                vehicleRows.put(licensePlate, row);
+            }
+            vehicleMakes[row] = makes.encode(make);
+            vehicleModels[row] = models.encode(model);
+            vehicleYears[row] = year;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeVehicle(String licensePlate) {
+        lock.writeLock().lock();
+        try {
+            Integer row = vehicleRows.remove(licensePlate);
+            if (row == null) {
+                return;
+            }
+            int last = --vehicleCount;
+            if (row != last) {
+                licensePlates[row] = licensePlates[last];
+                vehicleMakes[row] = vehicleMakes[last];
+                vehicleModels[row] = vehicleModels[last];
+                vehicleYears[row] = vehicleYears[last];
+                vehicleRows.put(licensePlates[row], row);
+            }
+            licensePlates[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            memberRows.clear();
+            vehicleRows.clear();
+            cities.clear();
+            genders.clear();
+            makes.clear();
+            models.clear();
+            memberCount = 0;
+            vehicleCount = 0;
+            Arrays.fill(licensePlates, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int memberCount() {
+        lock.readLock().lock();
+        try {
+            return memberCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vehicleCount() {
+        lock.readLock().lock();
+        try {
+            return vehicleCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GroupCount> countMembersByCity() {
+        lock.readLock().lock();
+        try {
+            return countByCode(memberCities, memberCount, cities);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GroupCount> countMembersByGender() {
+        lock.readLock().lock();
+        try {
+            return countByCode(memberGenders, memberCount, genders);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GroupCount> countVehiclesByMake() {
+        lock.readLock().lock();
+        try {
+            return countByCode(vehicleMakes, vehicleCount, makes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<GroupCount> countVehiclesByModel() {
+        lock.readLock().lock();
+        try {
+            return countByCode(vehicleModels, vehicleCount, models);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vehicle counts per {@code bucketSize} years, keyed by the first year of the bucket, in year order. Buckets
+     * between the oldest and the newest vehicle are included even when empty.
+     */
+    public List<GroupCount> vehicleYearHistogram(int bucketSize) {
+        lock.readLock().lock();
+        try {
+            if (vehicleCount == 0) {
+                return List.of();
+            }
+            int minYear = Integer.MAX_VALUE;
+            int maxYear = Integer.MIN_VALUE;
+            for (int row = 0; row < vehicleCount; row++) {
+                minYear = Math.min(minYear, vehicleYears[row]);
+                maxYear = Math.max(maxYear, vehicleYears[row]);
+            }
+            int firstBucket = Math.floorDiv(minYear, bucketSize);
+            long[] counts = new long[Math.floorDiv(maxYear, bucketSize) - firstBucket + 1];
+            for (int row = 0; row < vehicleCount; row++) {
+                counts[Math.floorDiv(vehicleYears[row], bucketSize) - firstBucket]++;
+            }
+            List<GroupCount> histogram = new ArrayList<>(counts.length);
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                histogram.add(new GroupCount(String.valueOf((firstBucket + bucket) * bucketSize), counts[bucket]));
+            }
+            return histogram;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<GroupCount> countByCode(int[] codes, int rows, Dictionary dictionary) {
+        long[] counts = new long[dictionary.size()];
+        for (int row = 0; row < rows; row++) {
+            counts[codes[row]]++;
+        }
+        return toGroupCounts(counts, dictionary::decode);
+    }
+
+    private static List<GroupCount> toGroupCounts(long[] counts, IntFunction<String> keys) {
+        List<GroupCount> groupCounts = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                groupCounts.add(new GroupCount(keys.apply(code), counts[code]));
+            }
+        }
+        groupCounts.sort(Comparator.comparingLong(GroupCount::count).reversed().thenComparing(GroupCount::key));
+        return groupCounts;
+    }
+
+    /**
+     * Assigns consecutive codes to distinct values in order of first appearance.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.vintage.vcc.changes;
+
+public enum AggregateType {
+    MEMBER,
+    VEHICLE
+}
@@ -0,0 +1,10 @@
+package com.vintage.vcc.changes;
+
+/**
+ * What a change left behind: the resource as it now is, or no resource at all. Consumers fetch an
+ * {@code UPSERTED} resource to get its current state.
+ */
+public enum ChangeOperation {
+    UPSERTED,
+    DELETED
+}
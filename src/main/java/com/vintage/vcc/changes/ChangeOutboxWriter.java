@@ -0,0 +1,48 @@
+package com.vintage.vcc.changes;
+
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records every member and vehicle change in {@code change_outbox}. Unlike the index listeners, this one runs
+ * synchronously inside the publishing transaction, so the outbox rows commit or roll back with the change itself.
+ */
+@Component
+public class ChangeOutboxWriter {
+    private static final String INSERT = "INSERT INTO change_outbox (aggregate_type, aggregate_id, created_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeOutboxWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener
+    public void onMemberChanged(MemberChangedEvent event) {
+        insert(AggregateType.MEMBER, event.memberIds());
+    }
+
+    @EventListener
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        insert(AggregateType.VEHICLE, event.licensePlates());
+    }
+
+    private void insert(AggregateType aggregateType, Collection<?> aggregateIds) {
+        if (aggregateIds.isEmpty()) {
+            return;
+        }
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        List<Object[]> rows = aggregateIds.stream()
+                .map(aggregateId -> new Object[]{aggregateType.name(), String.valueOf(aggregateId), createdAt})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+}
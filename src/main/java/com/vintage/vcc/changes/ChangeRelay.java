@@ -0,0 +1,227 @@
+package com.vintage.vcc.changes;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes committed outbox rows to the change feed in batches.
+ * <p>
+ * Each pass takes up to {@code relay-batch-size} unnumbered rows in insertion order, works out whether each
+ * member or vehicle still exists, and gives the rows consecutive sequence numbers. Rows only become visible to the
+ * relay once their transaction commits, so numbering them here rather than on insert keeps the feed gapless: a
+ * consumer that has read up to {@code n} never misses a change that commits later with a lower id. A row is only
+ * numbered while it is still unnumbered and sequence numbers are unique, so a second instance relaying the same rows
+ * fails its pass and retries from the new maximum.
+ * <p>
+ * Every {@code prune-interval}, published rows older than {@code retention} are deleted once a later row covers the
+ * same member or vehicle, as are tombstones older than {@code retention}. Reading from the start still yields the
+ * whole roster; a client whose watermark is older than {@code retention} may miss deletions and has to resync.
+ * The newest row is always kept, so numbering never restarts.
+ */
+@Slf4j
+@Component
+public class ChangeRelay {
+    private static final String PENDING_QUERY = "SELECT id, aggregate_type, aggregate_id FROM change_outbox " +
+            "WHERE sequence_number IS NULL ORDER BY id LIMIT :limit";
+    private static final String EXISTING_MEMBERS_QUERY = "SELECT member_id FROM members WHERE member_id IN (:ids)";
+    private static final String EXISTING_VEHICLES_QUERY = "SELECT license_plate FROM vehicles WHERE license_plate IN (:ids)";
+    private static final String SEED_MEMBERS = "INSERT INTO change_outbox (aggregate_type, aggregate_id, created_at) " +
+            "SELECT 'MEMBER', CAST(member_id AS VARCHAR(255)), CURRENT_TIMESTAMP FROM members ORDER BY member_id";
+    private static final String SEED_VEHICLES = "INSERT INTO change_outbox (aggregate_type, aggregate_id, created_at) " +
+            "SELECT 'VEHICLE', license_plate, CURRENT_TIMESTAMP FROM vehicles ORDER BY license_plate";
+    private static final String PUBLISH = "UPDATE change_outbox SET sequence_number = :sequenceNumber, " +
+            "operation = :operation, published_at = :publishedAt WHERE id = :id AND sequence_number IS NULL";
+    private static final String PRUNE = "DELETE FROM change_outbox WHERE id IN (SELECT c.id FROM change_outbox c " +
+            "WHERE c.published_at < :cutoff " +
+            "AND c.sequence_number < (SELECT MAX(sequence_number) FROM change_outbox) " +
+            "AND (c.operation = 'DELETED' OR EXISTS (SELECT 1 FROM change_outbox n WHERE n.aggregate_type = c.aggregate_type " +
+            "AND n.aggregate_id = c.aggregate_id AND n.sequence_number > c.sequence_number)) " +
+            "ORDER BY c.id LIMIT :limit)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("vcc-change-relay").daemon().unstarted(runnable));
+    private long lastSequenceNumber = -1;
+
+    public ChangeRelay(NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${vcc.changes.relay-batch-size:500}") int batchSize,
+                       @Value("${vcc.changes.relay-interval:200ms}") Duration interval,
+                       @Value("${vcc.changes.retention:7d}") Duration retention,
+                       @Value("${vcc.changes.prune-interval:1h}") Duration pruneInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        seedIfEmpty();
+        executor.scheduleWithFixedDelay(this::relayQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::pruneQuietly, pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Records every existing member and vehicle as a change when the outbox is empty, so that reading the feed from
+     * the start yields the whole roster, including rows written before the outbox existed.
+     */
+    private void seedIfEmpty() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean hasRows = jdbcTemplate.getJdbcTemplate()
+                    .queryForObject("SELECT EXISTS (SELECT 1 FROM change_outbox)", Boolean.class);
+            if (!Boolean.TRUE.equals(hasRows)) {
+                int members = jdbcTemplate.getJdbcTemplate().update(SEED_MEMBERS);
+                int vehicles = jdbcTemplate.getJdbcTemplate().update(SEED_VEHICLES);
+                log.info("Change outbox seeded with {} members and {} vehicles", members, vehicles);
+            }
+        });
+    }
+
+    /**
+     * Publishes every pending change; returns how many were published.
+     */
+    public synchronized int relay() {
+        int published = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            published += batch;
+        } while (batch == batchSize);
+        return published;
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Relaying changes failed, retrying in {} ms", interval.toMillis(), e);
+        }
+    }
+
+    /**
+     * Deletes the published changes that have fallen out of the retention period; returns how many were deleted.
+     */
+    public synchronized int prune() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(retention));
+        int pruned = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(PRUNE, Map.of("cutoff", cutoff, "limit", batchSize));
+            pruned += batch;
+        } while (batch == batchSize);
+        return pruned;
+    }
+
+    private void pruneQuietly() {
+        try {
+            int pruned = prune();
+            if (pruned > 0) {
+                log.info("Pruned {} changes published more than {} ago", pruned, retention);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Pruning changes failed, retrying in {} ms", pruneInterval.toMillis(), e);
+        }
+    }
+
+    private int relayBatch() {
+        if (lastSequenceNumber < 0) {
+            lastSequenceNumber = jdbcTemplate.getJdbcTemplate()
+                    .queryForObject("SELECT COALESCE(MAX(sequence_number), 0) FROM change_outbox", Long.class);
+        }
+        long firstSequenceNumber = lastSequenceNumber + 1;
+        Integer published;
+        try {
+            published = transactionTemplate.execute(status -> publish(firstSequenceNumber));
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            log.info("Changes were numbered concurrently, reloading the last sequence number");
+            lastSequenceNumber = -1;
+            return 0;
+        }
+        if (published > 0) {
+            lastSequenceNumber += published;
+            eventPublisher.publishEvent(new ChangesPublishedEvent(firstSequenceNumber, lastSequenceNumber));
+        }
+        return published;
+    }
+
+    private int publish(long firstSequenceNumber) {
+        List<PendingChange> pending = jdbcTemplate.query(PENDING_QUERY, Map.of("limit", batchSize), (rs, rowNum) ->
+                new PendingChange(rs.getLong(1), AggregateType.valueOf(rs.getString(2)), rs.getString(3)));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Set<String> existingMembers = existing(EXISTING_MEMBERS_QUERY, pending, AggregateType.MEMBER);
+        Set<String> existingVehicles = existing(EXISTING_VEHICLES_QUERY, pending, AggregateType.VEHICLE);
+        Timestamp publishedAt = Timestamp.from(Instant.now());
+        List<Map<String, Object>> updates = new ArrayList<>(pending.size());
+        long sequenceNumber = firstSequenceNumber;
+        for (PendingChange change : pending) {
+            Set<String> existing = change.aggregateType() == AggregateType.MEMBER ? existingMembers : existingVehicles;
+            ChangeOperation operation = existing.contains(change.aggregateId()) ? ChangeOperation.UPSERTED : ChangeOperation.DELETED;
+            updates.add(Map.of("sequenceNumber", sequenceNumber++,
+                    "operation", operation.name(),
+                    "publishedAt", publishedAt,
+                    "id", change.id()));
+        }
+        int[] counts = jdbcTemplate.batchUpdate(PUBLISH, SqlParameterSourceUtils.createBatch(updates));
+        for (int count : counts) {
+            if (count == 0) {
+                throw new OptimisticLockingFailureException("A pending change was numbered concurrently");
+            }
+        }
+        return pending.size();
+    }
+
+    private Set<String> existing(String query, List<PendingChange> pending, AggregateType aggregateType) {
+        List<Object> ids = pending.stream()
+                .filter(change -> change.aggregateType() == aggregateType)
+                .map(change -> aggregateType == AggregateType.MEMBER ? (Object) Long.valueOf(change.aggregateId()) : change.aggregateId())
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(query, Map.of("ids", ids), String.class));
+    }
+
+    private record PendingChange(long id, AggregateType aggregateType, String aggregateId) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.vintage.vcc.changes;
+
+/**
+ * Published by {@link ChangeRelay} once the changes from {@code firstSequenceNumber} to {@code lastSequenceNumber}
+ * are numbered and committed.
+ */
+public record ChangesPublishedEvent(long firstSequenceNumber, long lastSequenceNumber) {
+}
@@ -0,0 +1,4 @@
+package com.vintage.vcc.checkins;
+
+public record Attendance(long vehicles, long members) {
+}
@@ -0,0 +1,176 @@
+package com.vintage.vcc.checkins;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Check-ins per event, held in memory until they are written to the database.
+ * <p>
+ * Each event keeps its check-ins in a {@link ConcurrentHashMap} keyed by license plate. That map is striped per
+ * bin, so concurrent scans of different plates rarely contend, and a repeat scan is recognized by a failed
+ * {@code putIfAbsent}. New check-ins are also appended to a lock-free queue, which the flusher drains in batches.
+ * Attendance counts are read from the maps, without locking.
+ * <p>
+ * An event's history is loaded by the first thread to need it, outside the map: the map holds a future that
+ * concurrent callers wait on, so a slow load never blocks a map bin. Events with no scan or read for the idle
+ * timeout and nothing left to flush are evicted, and are reloaded from the database if they are needed again.
+ */
+@Component
+public class AttendanceLedger {
+    private final Map<Long, CompletableFuture<EventLedger>> events = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CheckIn> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Records the check-in unless the plate was already scanned at the event. The first scan of an event on this
+     * node loads {@code history} once, so check-ins flushed before a restart or by another node still count as
+     * duplicates.
+     */
+    public Recorded record(CheckIn checkIn, LongFunction<Collection<CheckIn>> history) {
+        EventLedger eventLedger = eventLedger(checkIn.eventId(), history);
+        // Counted before the add, so the event cannot look flushed and be evicted in between.
+        eventLedger.unflushed.incrementAndGet();
+        CheckIn existing = eventLedger.add(checkIn);
+        if (existing != null) {
+            eventLedger.unflushed.decrementAndGet();
+            return new Recorded(existing, true);
+        }
+        pending.add(checkIn);
+        return new Recorded(checkIn, false);
+    }
+
+    /**
+     * Counts the event's check-ins. An event this node does not hold is read from {@code history}, and is kept
+     * only if it has check-ins, so reads of unknown event ids leave nothing behind.
+     */
+    public Attendance attendance(long eventId, LongFunction<Collection<CheckIn>> history) {
+        EventLedger eventLedger = events.containsKey(eventId) ? eventLedger(eventId, history) : readThrough(eventId, history);
+        return eventLedger == null ? new Attendance(0, 0)
+                : new Attendance(eventLedger.checkIns.size(), eventLedger.members.size());
+    }
+
+    /**
+     * Removes and returns up to {@code max} check-ins not yet written to the database, oldest first.
+     */
+    public List<CheckIn> drainPending(int max) {
+        List<CheckIn> batch = new ArrayList<>(Math.min(max, 1024));
+        CheckIn checkIn;
+        while (batch.size() < max && (checkIn = pending.poll()) != null) {
+            batch.add(checkIn);
+        }
+        return batch;
+    }
+
+    /**
+     * Puts back check-ins whose write failed, to be retried by the next flush.
+     */
+    public void requeue(Collection<CheckIn> checkIns) {
+        pending.addAll(checkIns);
+    }
+
+    /**
+     * Marks drained check-ins as done with, written or dropped, so their events can be evicted.
+     */
+    public void flushed(Collection<CheckIn> checkIns) {
+        for (CheckIn checkIn : checkIns) {
+            CompletableFuture<EventLedger> future = events.get(checkIn.eventId());
+            if (future != null && future.isDone() && !future.isCompletedExceptionally()) {
+                future.join().unflushed.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Evicts events not used for {@code idleTimeout} that have no check-ins waiting to be written; returns how
+     * many were evicted.
+     */
+    public int evictIdle(Duration idleTimeout) {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        int before = events.size();
+        events.values().removeIf(future -> future.isDone() && !future.isCompletedExceptionally()
+                && future.join().idleSince(cutoff));
+        return before - events.size();
+    }
+
+    public void clear() {
+        events.clear();
+        pending.clear();
+    }
+
+    private EventLedger eventLedger(long eventId, LongFunction<Collection<CheckIn>> history) {
+        CompletableFuture<EventLedger> future = events.get(eventId);
+        if (future == null) {
+            CompletableFuture<EventLedger> loading = new CompletableFuture<>();
+            future = events.putIfAbsent(eventId, loading);
+            if (future == null) {
+                future = loading;
+                try {
+                    loading.complete(load(eventId, history));
+                } catch (RuntimeException e) {
+                    events.remove(eventId, loading);
+                    loading.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            EventLedger eventLedger = future.join();
+            eventLedger.touch();
+            return eventLedger;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private EventLedger readThrough(long eventId, LongFunction<Collection<CheckIn>> history) {
+        EventLedger loaded = load(eventId, history);
+        if (loaded.checkIns.isEmpty()) {
+            return null;
+        }
+        CompletableFuture<EventLedger> existing = events.putIfAbsent(eventId, CompletableFuture.completedFuture(loaded));
+        return existing == null ? loaded : eventLedger(eventId, history);
+    }
+
+    private static EventLedger load(long eventId, LongFunction<Collection<CheckIn>> history) {
+        EventLedger loaded = new EventLedger();
+        history.apply(eventId).forEach(loaded::add);
+        loaded.touch();
+        return loaded;
+    }
+
+    public record Recorded(CheckIn checkIn, boolean duplicate) {
+    }
+
+    private static final class EventLedger {
+        private final Map<String, CheckIn> checkIns = new ConcurrentHashMap<>();
+        private final Set<Long> members = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private volatile long lastUsed;
+
+        CheckIn add(CheckIn checkIn) {
+            CheckIn existing = checkIns.putIfAbsent(checkIn.licensePlate(), checkIn);
+            if (existing == null) {
+                members.addAll(checkIn.ownerIds());
+            }
+            return existing;
+        }
+
+        void touch() {
+            lastUsed = System.nanoTime();
+        }
+
+        boolean idleSince(long cutoff) {
+            return unflushed.get() == 0 && lastUsed - cutoff <= 0;
+        }
+    }
+}
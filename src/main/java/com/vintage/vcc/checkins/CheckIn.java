@@ -0,0 +1,10 @@
+package com.vintage.vcc.checkins;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A vehicle scanned at an event, with the members owning it at the time.
+ */
+public record CheckIn(long eventId, String licensePlate, List<Long> ownerIds, Instant checkedInAt) {
+}
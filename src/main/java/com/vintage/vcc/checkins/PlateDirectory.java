@@ -0,0 +1,39 @@
+package com.vintage.vcc.checkins;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * License plate to owner ids, for validating scans without a database round trip. Lookups never block; each
+ * plate's owners are replaced as a whole, so a reader sees either the old or the new list.
+ */
+@Component
+public class PlateDirectory {
+    private final Map<String, List<Long>> ownersByPlate = new ConcurrentHashMap<>();
+
+    /**
+     * The owners of the vehicle, empty when it has none, or {@code null} for an unknown plate.
+     */
+    public List<Long> owners(String licensePlate) {
+        return ownersByPlate.get(licensePlate);
+    }
+
+    public void put(String licensePlate, List<Long> ownerIds) {
+        ownersByPlate.put(licensePlate, List.copyOf(ownerIds));
+    }
+
+    public void remove(String licensePlate) {
+        ownersByPlate.remove(licensePlate);
+    }
+
+    public void clear() {
+        ownersByPlate.clear();
+    }
+
+    public int size() {
+        return ownersByPlate.size();
+    }
+}
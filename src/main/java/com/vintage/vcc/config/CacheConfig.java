@@ -0,0 +1,43 @@
+package com.vintage.vcc.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String VEHICLES_BY_LICENSE_PLATE = "vehiclesByLicensePlate";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${vcc.cache.vehicles-by-license-plate.maximum-size:10000}") long maximumSize,
+            @Value("${vcc.cache.vehicles-by-license-plate.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new GenerationCheckedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setAllowNullValues(false);
+        // Static, so an unknown name is not silently created: the cache stats lookup falls back to Hibernate's regions.
+        caffeineCacheManager.setCacheNames(List.of());
+        caffeineCacheManager.registerCustomCache(VEHICLES_BY_LICENSE_PLATE, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+        // Evictions issued inside a transaction are applied only after it commits. A read that loaded the
+        // pre-commit row finishes after that eviction, and the generation check keeps it out of the cache.
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
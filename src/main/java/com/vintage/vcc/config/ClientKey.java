@@ -0,0 +1,32 @@
+package com.vintage.vcc.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies the calling client: by its {@code X-API-Key} header when that is one of {@code vcc.clients.api-keys},
+ * otherwise by its address. Unknown keys are ignored, so a client cannot get a fresh rate limit bucket or
+ * read-your-writes window by sending a new key with each request.
+ */
+@Component
+public class ClientKey {
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientKey(@Value("${vcc.clients.api-keys:}") Set<String> apiKeys) {
+        this.apiKeys = apiKeys.stream()
+                .map(String::trim)
+                .filter(apiKey -> !apiKey.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public String of(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,45 @@
+package com.vintage.vcc.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.server.ServletServerHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serializes a response body into memory first, so it is sent with a {@code Content-Length}. Tomcat compresses every
+ * body of unknown length, which would make {@code server.compression.min-response-size} ineffective. Streamed and
+ * server-sent event responses are already committed when their parts are written and go straight through.
+ */
+final class ContentLengthBodies {
+
+    private ContentLengthBodies() {
+    }
+
+    interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    static void write(HttpOutputMessage outputMessage, BodyWriter writer) throws IOException {
+        if (!(outputMessage instanceof ServletServerHttpResponse response) || response.getServletResponse().isCommitted()) {
+            writer.write(outputMessage);
+            return;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        writer.write(new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return buffer;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
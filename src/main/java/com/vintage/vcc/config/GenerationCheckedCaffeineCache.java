@@ -0,0 +1,82 @@
+package com.vintage.vcc.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link CaffeineCache} that drops loaded values an eviction has overtaken.
+ * <p>
+ * A read that misses, loads the row and then caches it can straddle a write: if it loaded the row before the
+ * write committed and caches it after the write's eviction, the old row would be served until it expires. Every
+ * eviction therefore bumps a generation, kept per stripe of keys, and {@link #get(Object, Callable)} only caches
+ * what it loaded if the key's generation is still the one it saw on the miss. The check and the put are one atomic
+ * step of the key's entry, and an eviction bumps the generation before removing the entry, so a stale row is
+ * either discarded or removed. Keys sharing a stripe at worst make a load go uncached.
+ */
+class GenerationCheckedCaffeineCache extends CaffeineCache {
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    GenerationCheckedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        int stripe = stripe(key);
+        long generation = generations.get(stripe);
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        Object storeValue = toStoreValue(value);
+        getNativeCache().asMap().compute(key, (k, current) ->
+                generations.get(stripe) == generation ? storeValue : current);
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        advanceAll();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        advanceAll();
+        return super.invalidate();
+    }
+
+    private void advanceAll() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,35 @@
+package com.vintage.vcc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Service and JSON serialization timers. Repository invocations, the Hikari pool, Hibernate statistics, caches and
+ * HTTP requests are instrumented by Spring Boot's metrics auto-configuration; all of them are scraped from
+ * /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "vcc.service";
+
+    /**
+     * Records {@code @Timed} service classes, tagged with the class, method and exception.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Replaces Boot's JSON converter, which backs off when one is defined, with one that times every response body.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJsonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.vintage.vcc.config;
+
+import com.sendgrid.SendGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "vcc.notifications.enabled", havingValue = "true")
+public class NotificationConfig {
+
+    /**
+     * {@code plain-http} switches the client to HTTP, for pointing {@code host} at a local stand-in.
+     */
+    @Bean
+    public SendGrid sendGrid(@Value("${vcc.notifications.sendgrid.api-key:}") String apiKey,
+                             @Value("${vcc.notifications.sendgrid.host:api.sendgrid.com}") String host,
+                             @Value("${vcc.notifications.sendgrid.plain-http:false}") boolean plainHttp) {
+        SendGrid sendGrid = new SendGrid(apiKey, plainHttp);
+        sendGrid.setHost(host);
+        return sendGrid;
+    }
+}
@@ -0,0 +1,90 @@
+package com.vintage.vcc.config;
+
+import com.vintage.vcc.routing.ReadYourWrites;
+import com.vintage.vcc.routing.ReadYourWritesFilter;
+import com.vintage.vcc.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, when {@code vcc.datasource.replica.urls} lists at least one. The {@code spring.datasource.*}
+ * pool stays the primary; each replica gets a pool with the same {@code spring.datasource.hikari.*} settings,
+ * overridden by {@code vcc.datasource.replica.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "vcc.datasource.replica.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${vcc.datasource.read-your-writes.window:5s}") Duration window,
+                                         @Value("${vcc.datasource.read-your-writes.maximum-clients:100000}") long maximumClients) {
+        return new ReadYourWrites(window, maximumClients);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReadYourWrites readYourWrites,
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${vcc.datasource.replica.urls}") List<String> urls,
+            @Value("${vcc.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${vcc.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        Binder binder = Binder.get(environment);
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url)
+                    .username(username)
+                    .password(password)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            binder.bind("vcc.datasource.replica.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setReadOnly(true);
+            // Only data source beans are instrumented by Boot, so the replica pools report to the registry themselves.
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ClientKey clientKey, ReadYourWrites readYourWrites) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(clientKey, readYourWrites));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,65 @@
+package com.vintage.vcc.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup cost that pods scaled out under load should not pay.
+ * <p>
+ * {@code vcc.startup.training-run=true} starts the application just far enough to load the classes of a normal
+ * startup and then exits, without touching the database: the {@code fast-startup} Maven profile runs it with
+ * {@code -XX:ArchiveClassesAtExit} to build the class data sharing archive.
+ */
+@Configuration
+public class StartupConfig {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    /**
+     * Springdoc's beans are created on the first request to {@code /v3/api-docs} or {@code /swagger-ui} rather than
+     * at startup. Their handler mappings are registered by bean name, so the controllers are still found.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor lazySpringdocBeans() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                String declaringClassName = definition.getFactoryBeanName() != null
+                        && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())
+                        ? beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName()
+                        : definition.getBeanClassName();
+                if (declaringClassName != null && declaringClassName.startsWith(SPRINGDOC_PACKAGE)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${vcc.startup.training-run:false}") boolean trainingRun) {
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+
+    /**
+     * Exits once the context is refreshed and the web server started, before the ready listeners load the
+     * in-memory indexes from the database.
+     */
+    @Bean
+    public ApplicationListener<ApplicationStartedEvent> trainingRunExit(@Value("${vcc.startup.training-run:false}") boolean trainingRun) {
+        return event -> {
+            if (trainingRun) {
+                System.exit(SpringApplication.exit(event.getApplicationContext()));
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.vintage.vcc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.throttling.AdaptiveConcurrencyLimit;
+import com.vintage.vcc.throttling.ClientRateLimiter;
+import com.vintage.vcc.throttling.ThrottlingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rate limiting and load shedding in front of the member and vehicle endpoints, when
+ * {@code vcc.throttling.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "vcc.throttling.enabled", havingValue = "true")
+public class ThrottlingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ThrottlingFilter> throttlingFilter(ClientKey clientKey,
+                                                                     ClientRateLimiter rateLimiter,
+                                                                     AdaptiveConcurrencyLimit concurrencyLimit,
+                                                                     ObjectMapper objectMapper,
+                                                                     MeterRegistry meterRegistry,
+                                                                     @Value("${vcc.throttling.list-cost:10}") int listCost) {
+        FilterRegistrationBean<ThrottlingFilter> registration = new FilterRegistrationBean<>(
+                new ThrottlingFilter(clientKey, rateLimiter, concurrencyLimit, objectMapper, meterRegistry, listCost));
+        registration.addUrlPatterns("/api/members/*", "/api/vehicles/*");
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.vintage.vcc.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times the serialization of JSON response bodies per endpoint, as {@value #JSON_WRITE_TIMER} tagged with the
+ * matched URI pattern, including the time spent writing the body to the socket. Bodies are sent with a
+ * {@code Content-Length} (see {@link ContentLengthBodies}).
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+    static final String JSON_WRITE_TIMER = "vcc.http.json.write";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            ContentLengthBodies.write(outputMessage, message -> super.writeInternal(object, type, message));
+        } finally {
+            sample.stop(Timer.builder(JSON_WRITE_TIMER)
+                    .tag("uri", currentUri())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String currentUri() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = requestAttributes == null ? null
+                : requestAttributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.vintage.vcc.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Serves requests on virtual threads when {@code vcc.server.virtual-threads=true}.
+ * <p>
+ * Request handlers spend most of their time blocked on JDBC, so a virtual thread per request lets Tomcat keep
+ * accepting work while the platform pool would be exhausted. The in-flight database work is then bounded by the
+ * Hikari pool ({@code spring.datasource.hikari.maximum-pool-size}) instead of {@code server.tomcat.threads.max}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "vcc.server.virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    // The virtual-thread executor is created here rather than declared as a bean of its own: an Executor bean would
+    // replace Boot's applicationTaskExecutor, which serves the asynchronous MVC responses such as /api/members/stream.
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.CacheStatsDTO;
+import com.vintage.vcc.services.CacheStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class CacheController {
+    private final CacheStatsService cacheStatsService;
+
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/caches/{cacheName}/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats(@PathVariable String cacheName) {
+        return ResponseEntity.ok(cacheStatsService.getCacheStats(cacheName));
+    }
+}
@@ -0,0 +1,44 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.ChangePageDTO;
+import com.vintage.vcc.services.ChangeFeedService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Validated
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ChangePageDTO> getChanges(
+            @RequestParam(value = "since", defaultValue = "0") @Min(0) long since,
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(value = "since", required = false) @Min(0) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        return changeFeedService.subscribe(since != null ? since : lastEventId != null ? lastEventId : 0);
+    }
+}
@@ -0,0 +1,36 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.AttendanceDTO;
+import com.vintage.vcc.model.dtos.CheckInDTO;
+import com.vintage.vcc.services.CheckInService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/events/{eventId}")
+public class CheckInController {
+    private final CheckInService checkInService;
+
+    public CheckInController(CheckInService checkInService) {
+        this.checkInService = checkInService;
+    }
+
+    /**
+     * 201 for the first scan of a vehicle at the event, 200 with {@code duplicate} set for any later scan.
+     */
+    @PostMapping("/checkins/{licensePlate}")
+    public ResponseEntity<CheckInDTO> checkIn(@PathVariable Long eventId, @PathVariable String licensePlate) {
+        CheckInDTO checkInDTO = checkInService.checkIn(eventId, licensePlate);
+        return ResponseEntity.status(checkInDTO.isDuplicate() ? HttpStatus.OK : HttpStatus.CREATED).body(checkInDTO);
+    }
+
+    @GetMapping("/attendance")
+    public ResponseEntity<AttendanceDTO> getAttendance(@PathVariable Long eventId) {
+        return ResponseEntity.ok(checkInService.getAttendance(eventId));
+    }
+}
@@ -1,14 +1,39 @@
 package com.vintage.vcc.controlers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vintage.vcc.exports.ExportFormat;
 import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.MemberImportReportDTO;
+import com.vintage.vcc.model.dtos.MemberPageDTO;
+import com.vintage.vcc.model.dtos.MemberPatchDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentReportDTO;
 import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.MemberImportService;
 import com.vintage.vcc.services.MemberService;
+import com.vintage.vcc.services.ResourceVersion;
+import com.vintage.vcc.services.RosterExportService;
 import com.vintage.vcc.services.VehicleService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +41,28 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api")
 public class MemberController {
+    private static final int MAX_PAGE_LIMIT = 500;
+    private static final int MAX_IMPORT_BATCH_SIZE = 5000;
+    private static final int MAX_BULK_ASSIGNMENTS = 5000;
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final MemberService memberService;
     private final VehicleService vehicleService;
     private final VehicleRepository vehicleRepository;
+    private final MemberImportService memberImportService;
+    private final RosterExportService rosterExportService;
+    private final ObjectMapper objectMapper;
 
-    public MemberController(MemberService memberService, VehicleService vehicleService, VehicleRepository vehicleRepository) {
+    public MemberController(MemberService memberService, VehicleService vehicleService, VehicleRepository vehicleRepository,
+                            MemberImportService memberImportService, RosterExportService rosterExportService,
+                            ObjectMapper objectMapper) {
         this.memberService = memberService;
         this.vehicleService = vehicleService;
         this.vehicleRepository = vehicleRepository;
+        this.memberImportService = memberImportService;
+        this.rosterExportService = rosterExportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/members")
@@ -31,19 +70,84 @@ public class MemberController {
         return ResponseEntity.ok(memberService.createMember(memberDTO));
     }
 
+    @PostMapping(value = "/members/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MemberImportReportDTO> importMembersFromJson(
+            InputStream body,
+            @RequestParam(value = "batchSize", required = false) @Min(1) @Max(MAX_IMPORT_BATCH_SIZE) Integer batchSize,
+            @RequestParam(value = "errorsOnly", defaultValue = "true") boolean errorsOnly
+    ) {
+        return ResponseEntity.ok(memberImportService.importMembersFromJson(body, batchSize, errorsOnly));
+    }
+
+    @PostMapping(value = "/members/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<MemberImportReportDTO> importMembersFromCsv(
+            InputStream body,
+            @RequestParam(value = "batchSize", required = false) @Min(1) @Max(MAX_IMPORT_BATCH_SIZE) Integer batchSize,
+            @RequestParam(value = "errorsOnly", defaultValue = "true") boolean errorsOnly
+    ) {
+        return ResponseEntity.ok(memberImportService.importMembersFromCsv(body, batchSize, errorsOnly));
+    }
+
+    @PostMapping(value = "/members/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<MemberImportReportDTO> importMembersFromCsvFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "batchSize", required = false) @Min(1) @Max(MAX_IMPORT_BATCH_SIZE) Integer batchSize,
+            @RequestParam(value = "errorsOnly", defaultValue = "true") boolean errorsOnly
+    ) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(memberImportService.importMembersFromCsv(inputStream, batchSize, errorsOnly));
+        }
+    }
+
     @GetMapping("/members")
-    public List<MemberDTO> getAllMembers() {
-        return memberService.getAllMembers();
+    public ResponseEntity<List<MemberDTO>> getAllMembers(WebRequest webRequest) {
+        if (webRequest.checkNotModified(memberService.getAllMembersVersion().weakEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(memberService.getAllMembers());
+    }
+
+    @GetMapping(value = "/members", params = "limit")
+    public ResponseEntity<MemberPageDTO> getMembersPage(
+            @RequestParam(value = "after", defaultValue = "0") @Min(0) Long after,
+            @RequestParam(value = "limit") @Min(1) @Max(MAX_PAGE_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(memberService.getMembersPage(after, limit));
+    }
+
+    @GetMapping(value = "/members/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllMembers() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                memberService.streamAllMembers(memberDTO -> {
+                    try {
+                        writer.write(memberDTO);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/members/{id}")
-    public ResponseEntity<MemberDTO> getMemberById(@PathVariable Long id) {
+    public ResponseEntity<MemberDTO> getMemberById(@PathVariable Long id, WebRequest webRequest) {
+        ResourceVersion version = memberService.getMemberVersion(id);
+        if (webRequest.checkNotModified(version.weakEtag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(memberService.getMemberById(id));
     }
 
-    @PatchMapping("/members/{id}")
-    public ResponseEntity<MemberDTO> updateMemberById(@PathVariable @Valid Long id, @RequestBody @Valid MemberDTO memberDTO) {
-        Optional<MemberDTO> memberDTOResponse = Optional.ofNullable(memberService.updateMemberById(id, memberDTO));
+    @PatchMapping(value = "/members/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, MERGE_PATCH_JSON_VALUE})
+    public ResponseEntity<MemberDTO> updateMemberById(@PathVariable @Valid Long id, @RequestBody @Valid MemberPatchDTO memberPatchDTO) {
+        Optional<MemberDTO> memberDTOResponse = Optional.ofNullable(memberService.updateMemberById(id, memberPatchDTO));
         return memberDTOResponse
                 .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -63,4 +167,25 @@ public class MemberController {
         memberService.assignVehicleToMember(id, licensePlate);
         return ResponseEntity.ok("Vehicle with licence plate " + licensePlate + " added to list of user with id " + id);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/members/vehicles/bulk")
+    public ResponseEntity<VehicleAssignmentReportDTO> assignVehiclesToMembers(
+            @RequestBody @NotEmpty @Size(max = MAX_BULK_ASSIGNMENTS) List<@Valid VehicleAssignmentDTO> assignments
+    ) {
+        return ResponseEntity.ok(memberService.assignVehiclesToMembers(assignments));
+    }
+
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> exportMembers(
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format
+    ) {
+        StreamingResponseBody body = outputStream -> rosterExportService.exportMembers(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("members"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
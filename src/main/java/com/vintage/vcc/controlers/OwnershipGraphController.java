@@ -0,0 +1,49 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.CoOwnerDTO;
+import com.vintage.vcc.model.dtos.OwnershipComponentDTO;
+import com.vintage.vcc.services.OwnershipGraphService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/ownership")
+public class OwnershipGraphController {
+    private static final int MAX_LIMIT = 500;
+
+    private final OwnershipGraphService ownershipGraphService;
+
+    public OwnershipGraphController(OwnershipGraphService ownershipGraphService) {
+        this.ownershipGraphService = ownershipGraphService;
+    }
+
+    @GetMapping("/members/{id}/co-owners")
+    public ResponseEntity<List<CoOwnerDTO>> getCoOwners(@PathVariable Long id) {
+        return ResponseEntity.ok(ownershipGraphService.getCoOwners(id));
+    }
+
+    @GetMapping("/members/{id}/component")
+    public ResponseEntity<OwnershipComponentDTO> getComponent(@PathVariable Long id) {
+        return ResponseEntity.ok(ownershipGraphService.getComponent(id));
+    }
+
+    @GetMapping("/clusters")
+    public ResponseEntity<List<OwnershipComponentDTO>> getClusters(
+            @RequestParam("city") @NotBlank String city,
+            @RequestParam(value = "minMembers", defaultValue = "2") @Min(1) int minMembers,
+            @RequestParam(value = "limit", defaultValue = "50") @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(ownershipGraphService.getClusters(city, minMembers, limit));
+    }
+}
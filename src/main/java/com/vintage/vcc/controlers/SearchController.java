@@ -0,0 +1,37 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.SearchResultDTO;
+import com.vintage.vcc.services.SearchService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api")
+public class SearchController {
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchResultDTO>> search(
+            @RequestParam("q") @NotBlank @Size(max = 200) String query,
+            @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(searchService.search(query, limit));
+    }
+}
@@ -0,0 +1,59 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.GroupCountDTO;
+import com.vintage.vcc.services.RosterStatsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private static final int DECADE = 10;
+
+    private final RosterStatsService rosterStatsService;
+
+    public StatsController(RosterStatsService rosterStatsService) {
+        this.rosterStatsService = rosterStatsService;
+    }
+
+    @GetMapping("/members/by-city")
+    public ResponseEntity<List<GroupCountDTO>> countMembersByCity() {
+        return ResponseEntity.ok(rosterStatsService.countMembersByCity());
+    }
+
+    @GetMapping("/members/by-gender")
+    public ResponseEntity<List<GroupCountDTO>> countMembersByGender() {
+        return ResponseEntity.ok(rosterStatsService.countMembersByGender());
+    }
+
+    @GetMapping("/vehicles/by-make")
+    public ResponseEntity<List<GroupCountDTO>> countVehiclesByMake() {
+        return ResponseEntity.ok(rosterStatsService.countVehiclesByMake());
+    }
+
+    @GetMapping("/vehicles/by-model")
+    public ResponseEntity<List<GroupCountDTO>> countVehiclesByModel() {
+        return ResponseEntity.ok(rosterStatsService.countVehiclesByModel());
+    }
+
+    @GetMapping("/vehicles/by-decade")
+    public ResponseEntity<List<GroupCountDTO>> countVehiclesByDecade() {
+        return ResponseEntity.ok(rosterStatsService.getVehicleYearHistogram(DECADE));
+    }
+
+    @GetMapping("/vehicles/year-histogram")
+    public ResponseEntity<List<GroupCountDTO>> getVehicleYearHistogram(
+            @RequestParam(value = "bucketSize", defaultValue = "5") @Min(1) @Max(100) int bucketSize
+    ) {
+        return ResponseEntity.ok(rosterStatsService.getVehicleYearHistogram(bucketSize));
+    }
+}
@@ -0,0 +1,33 @@
+package com.vintage.vcc.controlers;
+
+import com.vintage.vcc.model.dtos.SyncPageDTO;
+import com.vintage.vcc.services.SyncService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SyncPageDTO> sync(
+            @RequestParam(value = "since", defaultValue = "0") @Min(0) long since,
+            @RequestParam(value = "limit", defaultValue = "500") @Min(1) @Max(MAX_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(syncService.getChangesSince(since, limit));
+    }
+}
@@ -1,21 +1,43 @@
 package com.vintage.vcc.controlers;
 
+import com.vintage.vcc.exports.ExportFormat;
 import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.VehiclePageDTO;
+import com.vintage.vcc.model.dtos.VehiclePatchDTO;
+import com.vintage.vcc.services.ResourceVersion;
+import com.vintage.vcc.services.RosterExportService;
 import com.vintage.vcc.services.VehicleService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
 
+@Validated
 @RestController
 @RequestMapping("/api")
 public class VehicleController {
+    private static final int MAX_BULK_VEHICLES = 5000;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final VehicleService vehicleService;
+    private final RosterExportService rosterExportService;
 
-    public VehicleController(VehicleService vehicleService) {
+    public VehicleController(VehicleService vehicleService, RosterExportService rosterExportService) {
         this.vehicleService = vehicleService;
+        this.rosterExportService = rosterExportService;
     }
 
     @PostMapping("/vehicles")
@@ -23,16 +45,25 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.createVehicle(vehicleDTO));
     }
 
+    @PostMapping("/vehicles/bulk")
+    public ResponseEntity<List<VehicleDTO>> createVehicles(
+            @RequestBody @NotEmpty @Size(max = MAX_BULK_VEHICLES) List<@Valid VehicleDTO> vehicleDTOs) {
+        return ResponseEntity.ok(vehicleService.createVehicles(vehicleDTOs));
+    }
+
     @GetMapping("/vehicles")
-    public List<VehicleDTO> getAllVehicles() {
-        return vehicleService.getAllVehicles();
+    public ResponseEntity<List<VehicleDTO>> getAllVehicles(WebRequest webRequest) {
+        if (webRequest.checkNotModified(vehicleService.getAllVehiclesVersion().weakEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(vehicleService.getAllVehicles());
     }
 
-    @PatchMapping("/vehicles/{licensePlate}")
+    @PatchMapping(value = "/vehicles/{licensePlate}", consumes = {MediaType.APPLICATION_JSON_VALUE, MERGE_PATCH_JSON_VALUE})
     public ResponseEntity<VehicleDTO> updateVehicleByLicensePlate(
             @PathVariable @Valid String licensePlate,
-            @RequestBody @Valid VehicleDTO vehicleDTO) {
-        Optional<VehicleDTO> vehicleDTOResponse = Optional.ofNullable(vehicleService.updateVehicleByLicensePlate(licensePlate, vehicleDTO));
+            @RequestBody @Valid VehiclePatchDTO vehiclePatchDTO) {
+        Optional<VehicleDTO> vehicleDTOResponse = Optional.ofNullable(vehicleService.updateVehicleByLicensePlate(licensePlate, vehiclePatchDTO));
         return vehicleDTOResponse
                 .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -43,7 +74,11 @@ public class VehicleController {
     }
 
     @GetMapping("/vehicles/{licensePlate}")
-    public ResponseEntity<VehicleDTO> getVechicleByLicensePlate(@PathVariable String licensePlate) {
+    public ResponseEntity<VehicleDTO> getVechicleByLicensePlate(@PathVariable String licensePlate, WebRequest webRequest) {
+        ResourceVersion version = vehicleService.getVehicleVersion(licensePlate);
+        if (webRequest.checkNotModified(version.weakEtag(), version.lastModifiedMillis())) {
+            return null;
+        }
         return ResponseEntity.ok(vehicleService.getVehicleByLicensePlate(licensePlate));
     }
 
@@ -57,4 +92,31 @@ public class VehicleController {
         List<VehicleDTO> vehicles = vehicleService.getVehiclesByParams(licensePlate, make, model, year);
         return ResponseEntity.ok(vehicles);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/vehicles/search")
+    public ResponseEntity<VehiclePageDTO> searchVehicles(
+            @RequestParam(value = "licensePlate", required = false) String licensePlate,
+            @RequestParam(value = "make", required = false) String make,
+            @RequestParam(value = "model", required = false) String model,
+            @RequestParam(value = "yearFrom", required = false) Integer yearFrom,
+            @RequestParam(value = "yearTo", required = false) Integer yearTo,
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(vehicleService.searchVehicles(licensePlate, make, model, yearFrom, yearTo, page, size));
+    }
+
+    @GetMapping("/vehicles/export")
+    public ResponseEntity<StreamingResponseBody> exportVehicles(
+            @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format
+    ) {
+        StreamingResponseBody body = outputStream -> rosterExportService.exportVehicles(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName("vehicles"))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,15 @@
+package com.vintage.vcc.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record MemberChangedEvent(Set<Long> memberIds) {
+
+    public MemberChangedEvent(Collection<Long> memberIds) {
+        this(Set.copyOf(memberIds));
+    }
+
+    public static MemberChangedEvent of(Long memberId) {
+        return new MemberChangedEvent(Set.of(memberId));
+    }
+}
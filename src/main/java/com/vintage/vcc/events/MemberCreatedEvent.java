@@ -0,0 +1,4 @@
+package com.vintage.vcc.events;
+
+public record MemberCreatedEvent(Long memberId, String email, String firstName, String city) {
+}
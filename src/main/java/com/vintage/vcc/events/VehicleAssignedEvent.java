@@ -0,0 +1,5 @@
+package com.vintage.vcc.events;
+
+public record VehicleAssignedEvent(Long memberId, String email, String firstName,
+                                   String licensePlate, String make, String model, int year) {
+}
@@ -0,0 +1,15 @@
+package com.vintage.vcc.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record VehicleChangedEvent(Set<String> licensePlates) {
+
+    public VehicleChangedEvent(Collection<String> licensePlates) {
+        this(Set.copyOf(licensePlates));
+    }
+
+    public static VehicleChangedEvent of(String licensePlate) {
+        return new VehicleChangedEvent(Set.of(licensePlate));
+    }
+}
@@ -0,0 +1,7 @@
+package com.vintage.vcc.exceptions;
+
+public class MemberImportException extends RuntimeException {
+    public MemberImportException(String message) {
+        super(message);
+    }
+}
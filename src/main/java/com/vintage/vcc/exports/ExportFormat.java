@@ -0,0 +1,31 @@
+package com.vintage.vcc.exports;
+
+import java.io.OutputStream;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileName(String name) {
+        return name + "." + extension;
+    }
+
+    public RowWriter open(OutputStream outputStream, String name, int flushRows) {
+        return switch (this) {
+            case CSV -> new CsvRowWriter(outputStream, flushRows);
+            case XLSX -> new XlsxRowWriter(outputStream, name);
+        };
+    }
+}
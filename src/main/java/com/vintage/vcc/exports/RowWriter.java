@@ -0,0 +1,17 @@
+package com.vintage.vcc.exports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes an export one row at a time. Closing finishes the document but leaves the target stream open.
+ */
+public interface RowWriter extends Closeable {
+
+    void writeHeader(String... columns) throws IOException;
+
+    /**
+     * Writes a row of {@code String}, {@code Number} or {@code null} values.
+     */
+    void writeRow(Object... values) throws IOException;
+}
@@ -0,0 +1,77 @@
+package com.vintage.vcc.exports;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes an XLSX workbook through POI's streaming SXSSF API: only the last {@value #ROW_WINDOW} rows are kept in
+ * memory and earlier ones go to a compressed temporary file, so heap use does not grow with the export. The
+ * workbook itself can only be written once complete, on {@link #close()}. Rows beyond the sheet limit continue on a
+ * new sheet with the same header.
+ */
+public class XlsxRowWriter implements RowWriter {
+    private static final int ROW_WINDOW = 100;
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream outputStream;
+    private final String sheetName;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    private String[] header;
+    private Sheet sheet;
+    private int rowIndex;
+
+    public XlsxRowWriter(OutputStream outputStream, String sheetName) {
+        this.outputStream = outputStream;
+        this.sheetName = sheetName;
+        this.workbook.setCompressTempFiles(true);
+    }
+
+    @Override
+    public void writeHeader(String... columns) {
+        header = columns;
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(Object... values) {
+        if (sheet == null || rowIndex == MAX_ROWS) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Number number) {
+                row.createCell(i).setCellValue(number.doubleValue());
+            } else if (values[i] != null) {
+                row.createCell(i).setCellValue(values[i].toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void newSheet() {
+        int sheets = workbook.getNumberOfSheets();
+        sheet = workbook.createSheet(sheets == 0 ? sheetName : sheetName + " (" + (sheets + 1) + ")");
+        rowIndex = 0;
+        if (header != null) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < header.length; i++) {
+                row.createCell(i).setCellValue(header[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.vintage.vcc.graph;
+
+public record CoOwner(long memberId, int sharedVehicles) {
+}
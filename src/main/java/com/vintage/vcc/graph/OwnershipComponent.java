@@ -0,0 +1,6 @@
+package com.vintage.vcc.graph;
+
+import java.util.List;
+
+public record OwnershipComponent(List<Long> memberIds, List<String> licensePlates) {
+}
@@ -0,0 +1,421 @@
+package com.vintage.vcc.graph;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bipartite graph of members and the vehicles they own, mirroring {@code member_vehicle}.
+ * <p>
+ * Members and vehicles are numbered with dense slots, and each slot keeps its links as a growable {@code int[]} of
+ * slots on the other side, so a traversal never boxes or hashes. Only linked members and vehicles are held: a slot
+ * is released once its last link goes, and reused by the next node added.
+ */
+@Component
+public class OwnershipGraph {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> memberSlots = new HashMap<>();
+    private final Map<String, Integer> vehicleSlots = new HashMap<>();
+    private final Map<String, BitSet> memberSlotsByCity = new HashMap<>();
+    private final Slots freeMemberSlots = new Slots();
+    private final Slots freeVehicleSlots = new Slots();
+    private long[] memberIds = new long[INITIAL_CAPACITY];
+    private String[] memberCities = new String[INITIAL_CAPACITY];
+    private int[][] memberVehicles = new int[INITIAL_CAPACITY][];
+    private int[] memberDegrees = new int[INITIAL_CAPACITY];
+    private String[] licensePlates = new String[INITIAL_CAPACITY];
+    private int[][] vehicleOwners = new int[INITIAL_CAPACITY][];
+    private int[] vehicleDegrees = new int[INITIAL_CAPACITY];
+
+    /**
+     * Replaces all links of a member. An empty {@code licensePlates} removes the member from the graph.
+     */
+    public void setMemberLinks(long memberId, String city, Collection<String> licensePlates) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = memberSlots.get(memberId);
+            if (existing != null) {
+                detachMember(existing);
+                if (licensePlates.isEmpty()) {
+                    releaseMember(existing);
+                    return;
+                }
+            } else if (licensePlates.isEmpty()) {
+                return;
+            }
+            int member = memberSlot(memberId, city);
+            for (String licensePlate : licensePlates) {
+                link(member, vehicleSlot(licensePlate));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all owners of a vehicle, given as member id to city. An empty {@code owners} removes the vehicle.
+     */
+    public void setVehicleOwners(String licensePlate, Map<Long, String> owners) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = vehicleSlots.get(licensePlate);
+            if (existing != null) {
+                detachVehicle(existing);
+                if (owners.isEmpty()) {
+                    releaseVehicle(existing);
+                    return;
+                }
+            } else if (owners.isEmpty()) {
+                return;
+            }
+            int vehicle = vehicleSlot(licensePlate);
+            owners.forEach((memberId, city) -> link(memberSlot(memberId, city), vehicle));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            memberSlots.clear();
+            vehicleSlots.clear();
+            memberSlotsByCity.clear();
+            freeMemberSlots.clear();
+            freeVehicleSlots.clear();
+            memberIds = new long[INITIAL_CAPACITY];
+            memberCities = new String[INITIAL_CAPACITY];
+            memberVehicles = new int[INITIAL_CAPACITY][];
+            memberDegrees = new int[INITIAL_CAPACITY];
+            licensePlates = new String[INITIAL_CAPACITY];
+            vehicleOwners = new int[INITIAL_CAPACITY][];
+            vehicleDegrees = new int[INITIAL_CAPACITY];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsMember(long memberId) {
+        lock.readLock().lock();
+        try {
+            return memberSlots.containsKey(memberId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int memberCount() {
+        lock.readLock().lock();
+        try {
+            return memberSlots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vehicleCount() {
+        lock.readLock().lock();
+        try {
+            return vehicleSlots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Members sharing at least one vehicle with the given member, most shared vehicles first.
+     */
+    public List<CoOwner> coOwners(long memberId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = memberSlots.get(memberId);
+            if (slot == null) {
+                return List.of();
+            }
+            int member = slot;
+            int reachable = 0;
+            for (int i = 0; i < memberDegrees[member]; i++) {
+                reachable += vehicleDegrees[memberVehicles[member][i]];
+            }
+            // Each co-owner appears once per shared vehicle, so after sorting its run length is the shared count.
+            int[] owners = new int[reachable];
+            int count = 0;
+            for (int i = 0; i < memberDegrees[member]; i++) {
+                int vehicle = memberVehicles[member][i];
+                for (int j = 0; j < vehicleDegrees[vehicle]; j++) {
+                    if (vehicleOwners[vehicle][j] != member) {
+                        owners[count++] = vehicleOwners[vehicle][j];
+                    }
+                }
+            }
+            Arrays.sort(owners, 0, count);
+            List<CoOwner> coOwners = new ArrayList<>();
+            for (int start = 0, end; start < count; start = end) {
+                end = start + 1;
+                while (end < count && owners[end] == owners[start]) {
+                    end++;
+                }
+                coOwners.add(new CoOwner(memberIds[owners[start]], end - start));
+            }
+            coOwners.sort(Comparator.comparingInt(CoOwner::sharedVehicles).reversed()
+                    .thenComparingLong(CoOwner::memberId));
+            return coOwners;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All members and vehicles reachable from the given member through shared ownership, or {@code null} when the
+     * member owns no vehicle.
+     */
+    public OwnershipComponent component(long memberId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = memberSlots.get(memberId);
+            return slot == null ? null : collectComponent(slot, null, new BitSet(), new BitSet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups of members of one city connected through vehicles they own together, largest first. Links to members
+     * from other cities are not followed.
+     */
+    public List<OwnershipComponent> clusters(String city, int minMembers, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet cityMembers = memberSlotsByCity.get(cityKey(city));
+            if (cityMembers == null) {
+                return List.of();
+            }
+            BitSet visitedMembers = new BitSet();
+            BitSet visitedVehicles = new BitSet();
+            List<OwnershipComponent> clusters = new ArrayList<>();
+            for (int member = cityMembers.nextSetBit(0); member >= 0; member = cityMembers.nextSetBit(member + 1)) {
+                if (!visitedMembers.get(member)) {
+                    OwnershipComponent cluster = collectComponent(member, cityMembers, visitedMembers, visitedVehicles);
+                    if (cluster.memberIds().size() >= minMembers) {
+                        clusters.add(cluster);
+                    }
+                }
+            }
+            clusters.sort(Comparator.comparingInt((OwnershipComponent cluster) -> cluster.memberIds().size()).reversed()
+                    .thenComparingLong(cluster -> cluster.memberIds().get(0)));
+            return clusters.size() > limit ? List.copyOf(clusters.subList(0, limit)) : clusters;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Breadth-first walk from {@code start}, alternating between member and vehicle slots. When
+     * {@code allowedMembers} is set, members outside it are neither collected nor walked through.
+     */
+    private OwnershipComponent collectComponent(int start, BitSet allowedMembers, BitSet visitedMembers, BitSet visitedVehicles) {
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visitedMembers.set(start);
+        List<Long> componentMemberIds = new ArrayList<>();
+        List<String> componentLicensePlates = new ArrayList<>();
+        while (head < tail) {
+            int member = queue[head++];
+            componentMemberIds.add(memberIds[member]);
+            for (int i = 0; i < memberDegrees[member]; i++) {
+                int vehicle = memberVehicles[member][i];
+                if (visitedVehicles.get(vehicle)) {
+                    continue;
+                }
+                visitedVehicles.set(vehicle);
+                componentLicensePlates.add(licensePlates[vehicle]);
+                for (int j = 0; j < vehicleDegrees[vehicle]; j++) {
+                    int owner = vehicleOwners[vehicle][j];
+                    if (!visitedMembers.get(owner) && (allowedMembers == null || allowedMembers.get(owner))) {
+                        visitedMembers.set(owner);
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+                        queue[tail++] = owner;
+                    }
+                }
+            }
+        }
+        componentMemberIds.sort(null);
+        componentLicensePlates.sort(null);
+        return new OwnershipComponent(componentMemberIds, componentLicensePlates);
+    }
+
+    private int memberSlot(long memberId, String city) {
+        Integer existing = memberSlots.get(memberId);
+        if (existing != null) {
+            setCity(existing, city);
+            return existing;
+        }
+        int member = freeMemberSlots.take();
+        if (member == memberIds.length) {
+            int capacity = memberIds.length * 2;
+            memberIds = Arrays.copyOf(memberIds, capacity);
+            memberCities = Arrays.copyOf(memberCities, capacity);
+            memberVehicles = Arrays.copyOf(memberVehicles, capacity);
+            memberDegrees = Arrays.copyOf(memberDegrees, capacity);
+        }
+        memberIds[member] = memberId;
+        memberVehicles[member] = new int[2];
+        memberDegrees[member] = 0;
+        memberSlots.put(memberId, member);
+        setCity(member, city);
+        return member;
+    }
+
+    private int vehicleSlot(String licensePlate) {
+        Integer existing = vehicleSlots.get(licensePlate);
+        if (existing != null) {
+            return existing;
+        }
+        int vehicle = freeVehicleSlots.take();
+        if (vehicle == licensePlates.length) {
+            int capacity = licensePlates.length * 2;
+            licensePlates = Arrays.copyOf(licensePlates, capacity);
+            vehicleOwners = Arrays.copyOf(vehicleOwners, capacity);
+            vehicleDegrees = Arrays.copyOf(vehicleDegrees, capacity);
+        }
+        licensePlates[vehicle] = licensePlate;
+        vehicleOwners[vehicle] = new int[2];
+        vehicleDegrees[vehicle] = 0;
+        vehicleSlots.put(licensePlate, vehicle);
+        return vehicle;
+    }
+
+    private void setCity(int member, String city) {
+        String key = cityKey(city);
+        String previous = memberCities[member];
+        if (key.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromCity(member, previous);
+        }
+        memberCities[member] = key;
+        memberSlotsByCity.computeIfAbsent(key, unused -> new BitSet()).set(member);
+    }
+
+    private void removeFromCity(int member, String key) {
+        BitSet cityMembers = memberSlotsByCity.get(key);
+        cityMembers.clear(member);
+        if (cityMembers.isEmpty()) {
+            memberSlotsByCity.remove(key);
+        }
+    }
+
+    private static String cityKey(String city) {
+        return city == null ? "" : city.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private void link(int member, int vehicle) {
+        for (int i = 0; i < memberDegrees[member]; i++) {
+            if (memberVehicles[member][i] == vehicle) {
+                return;
+            }
+        }
+        memberVehicles[member] = append(memberVehicles[member], memberDegrees[member]++, vehicle);
+        vehicleOwners[vehicle] = append(vehicleOwners[vehicle], vehicleDegrees[vehicle]++, member);
+    }
+
+    private void detachMember(int member) {
+        for (int i = 0; i < memberDegrees[member]; i++) {
+            int vehicle = memberVehicles[member][i];
+            vehicleDegrees[vehicle] = remove(vehicleOwners[vehicle], vehicleDegrees[vehicle], member);
+            if (vehicleDegrees[vehicle] == 0) {
+                releaseVehicle(vehicle);
+            }
+        }
+        memberDegrees[member] = 0;
+    }
+
+    private void detachVehicle(int vehicle) {
+        for (int i = 0; i < vehicleDegrees[vehicle]; i++) {
+            int member = vehicleOwners[vehicle][i];
+            memberDegrees[member] = remove(memberVehicles[member], memberDegrees[member], vehicle);
+            if (memberDegrees[member] == 0) {
+                releaseMember(member);
+            }
+        }
+        vehicleDegrees[vehicle] = 0;
+    }
+
+    private void releaseMember(int member) {
+        memberSlots.remove(memberIds[member]);
+        removeFromCity(member, memberCities[member]);
+        memberCities[member] = null;
+        memberVehicles[member] = null;
+        memberDegrees[member] = 0;
+        freeMemberSlots.release(member);
+    }
+
+    private void releaseVehicle(int vehicle) {
+        vehicleSlots.remove(licensePlates[vehicle]);
+        licensePlates[vehicle] = null;
+        vehicleOwners[vehicle] = null;
+        vehicleDegrees[vehicle] = 0;
+        freeVehicleSlots.release(vehicle);
+    }
+
+    private static int[] append(int[] links, int size, int slot) {
+        int[] target = size == links.length ? Arrays.copyOf(links, size * 2) : links;
+        target[size] = slot;
+        return target;
+    }
+
+    /**
+     * Removes {@code slot} by moving the last link into its place; returns the new size.
+     */
+    private static int remove(int[] links, int size, int slot) {
+        for (int i = 0; i < size; i++) {
+            if (links[i] == slot) {
+                links[i] = links[size - 1];
+                return size - 1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Hands out released slots before growing past the highest one used so far.
+     */
+    private static final class Slots {
+        private int[] released = new int[16];
+        private int releasedCount;
+        private int next;
+
+        int take() {
+            return releasedCount > 0 ? released[--releasedCount] : next++;
+        }
+
+        void release(int slot) {
+            if (releasedCount == released.length) {
+                released = Arrays.copyOf(released, releasedCount * 2);
+            }
+            released[releasedCount++] = slot;
+        }
+
+        void clear() {
+            releasedCount = 0;
+            next = 0;
+        }
+    }
+}
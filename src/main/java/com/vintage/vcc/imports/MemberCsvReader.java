@@ -0,0 +1,143 @@
+package com.vintage.vcc.imports;
+
+import com.vintage.vcc.exceptions.MemberImportException;
+import com.vintage.vcc.model.dtos.MemberDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads members from CSV line by line. The first line is a header naming the columns
+ * {@code firstName,lastName,email,gender,city} in any order. Quoted fields may contain
+ * commas and doubled quotes but not line breaks.
+ */
+public class MemberCsvReader implements Iterator<MemberImportRow> {
+    private static final List<String> COLUMNS = List.of("firstname", "lastname", "email", "gender", "city");
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private String nextLine;
+    private int rowNumber;
+
+    public MemberCsvReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String header = readLine();
+        if (header == null) {
+            throw new MemberImportException("CSV import is empty");
+        }
+        List<String> headerColumns = parseLine(stripBom(header));
+        if (headerColumns == null) {
+            throw new MemberImportException("CSV header has an unterminated quoted field");
+        }
+        for (int i = 0; i < headerColumns.size(); i++) {
+            columnIndexes.put(headerColumns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : COLUMNS) {
+            if (!columnIndexes.containsKey(column)) {
+                throw new MemberImportException("CSV header is missing column: " + column);
+            }
+        }
+        this.nextLine = nextDataLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public MemberImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        rowNumber++;
+        String line = nextLine;
+        nextLine = nextDataLine();
+
+        List<String> fields = parseLine(line);
+        if (fields == null) {
+            return MemberImportRow.failed(rowNumber, "Unterminated quoted field");
+        }
+        if (fields.size() < columnIndexes.size()) {
+            return MemberImportRow.failed(rowNumber, "Expected " + columnIndexes.size() + " fields but found " + fields.size());
+        }
+        String gender = field(fields, "gender");
+        if (gender.length() != 1) {
+            return MemberImportRow.failed(rowNumber, "Gender must be a single character");
+        }
+
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setFirstName(field(fields, "firstname"));
+        memberDTO.setLastName(field(fields, "lastname"));
+        memberDTO.setEmail(field(fields, "email"));
+        memberDTO.setGender(gender.charAt(0));
+        memberDTO.setCity(field(fields, "city"));
+        return MemberImportRow.parsed(rowNumber, memberDTO);
+    }
+
+    private String field(List<String> fields, String column) {
+        return fields.get(columnIndexes.get(column)).trim();
+    }
+
+    private String nextDataLine() {
+        String line;
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
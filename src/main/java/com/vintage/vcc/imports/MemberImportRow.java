@@ -0,0 +1,18 @@
+package com.vintage.vcc.imports;
+
+import com.vintage.vcc.model.dtos.MemberDTO;
+
+/**
+ * One parsed input row. {@code parseError} is set instead of {@code member} when the row
+ * could not be read into a {@link MemberDTO}.
+ */
+public record MemberImportRow(int rowNumber, MemberDTO member, String parseError) {
+
+    public static MemberImportRow parsed(int rowNumber, MemberDTO member) {
+        return new MemberImportRow(rowNumber, member, null);
+    }
+
+    public static MemberImportRow failed(int rowNumber, String parseError) {
+        return new MemberImportRow(rowNumber, null, parseError);
+    }
+}
@@ -0,0 +1,66 @@
+package com.vintage.vcc.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.exceptions.MemberImportException;
+import com.vintage.vcc.model.dtos.MemberDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads a JSON array of members one element at a time, so only the current element is held in memory.
+ */
+public class MemberJsonArrayReader implements Iterator<MemberImportRow> {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private JsonToken currentToken;
+    private int rowNumber;
+
+    public MemberJsonArrayReader(ObjectMapper objectMapper, InputStream inputStream) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createParser(inputStream);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new MemberImportException("Expected a JSON array of members");
+            }
+            this.currentToken = parser.nextToken();
+        } catch (IOException e) {
+            throw new MemberImportException("Could not read member import: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentToken != null && currentToken != JsonToken.END_ARRAY;
+    }
+
+    @Override
+    public MemberImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        rowNumber++;
+        JsonNode node;
+        try {
+            // Read the element as a tree first so a field with the wrong type rejects only this row.
+            node = parser.readValueAsTree();
+            currentToken = parser.nextToken();
+        } catch (IOException e) {
+            throw new MemberImportException("Malformed JSON at row " + rowNumber + ": " + e.getMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return MemberImportRow.failed(rowNumber, "Row is not a JSON object");
+        }
+        try {
+            return MemberImportRow.parsed(rowNumber, objectMapper.treeToValue(node, MemberDTO.class));
+        } catch (JsonProcessingException e) {
+            return MemberImportRow.failed(rowNumber, e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.vintage.vcc.mappers;
+
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies fields between entities and DTOs directly, without a JSON round trip.
+ * <p>
+ * {@code depth} controls how far the {@code vehicles}/{@code owners} lists are followed:
+ * 0 maps scalar fields only, 1 adds the directly linked side, and so on. Collections
+ * below the requested depth are left {@code null} and never touched, so lazy
+ * associations that were not fetched stay unloaded.
+ */
+@Component
+public class EntityMapper {
+    public static final int SCALARS_ONLY = 0;
+    public static final int WITH_LINKED = 1;
+
+    public MemberDTO toMemberDTO(Member member, int depth) {
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setMemberId(member.getMemberId());
+        memberDTO.setFirstName(member.getFirstName());
+        memberDTO.setLastName(member.getLastName());
+        memberDTO.setEmail(member.getEmail());
+        memberDTO.setGender(member.getGender());
+        memberDTO.setCity(member.getCity());
+        memberDTO.setVersion(member.getVersion());
+        if (depth > 0 && member.getVehicles() != null) {
+            memberDTO.setVehicles(toVehicleDTOs(member.getVehicles(), depth - 1));
+        }
+        return memberDTO;
+    }
+
+    public VehicleDTO toVehicleDTO(Vehicle vehicle, int depth) {
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate(vehicle.getLicensePlate());
+        vehicleDTO.setMake(vehicle.getMake());
+        vehicleDTO.setModel(vehicle.getModel());
+        vehicleDTO.setYear(vehicle.getYear());
+        vehicleDTO.setVersion(vehicle.getVersion());
+        if (depth > 0 && vehicle.getOwners() != null) {
+            vehicleDTO.setOwners(toMemberDTOs(vehicle.getOwners(), depth - 1));
+        }
+        return vehicleDTO;
+    }
+
+    public List<MemberDTO> toMemberDTOs(List<Member> members, int depth) {
+        List<MemberDTO> memberDTOs = new ArrayList<>(members.size());
+        for (Member member : members) {
+            memberDTOs.add(toMemberDTO(member, depth));
+        }
+        return memberDTOs;
+    }
+
+    public List<VehicleDTO> toVehicleDTOs(List<Vehicle> vehicles, int depth) {
+        List<VehicleDTO> vehicleDTOs = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            vehicleDTOs.add(toVehicleDTO(vehicle, depth));
+        }
+        return vehicleDTOs;
+    }
+
+    public Member toMember(MemberDTO memberDTO) {
+        Member member = new Member();
+        copyMemberFields(memberDTO, member);
+        return member;
+    }
+
+    public Vehicle toVehicle(VehicleDTO vehicleDTO) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate(vehicleDTO.getLicensePlate());
+        copyVehicleFields(vehicleDTO, vehicle);
+        return vehicle;
+    }
+
+    public void copyMemberFields(MemberDTO memberDTO, Member member) {
+        member.setFirstName(memberDTO.getFirstName());
+        member.setLastName(memberDTO.getLastName());
+        member.setEmail(memberDTO.getEmail());
+        member.setGender(memberDTO.getGender());
+        member.setCity(memberDTO.getCity());
+    }
+
+    public void copyVehicleFields(VehicleDTO vehicleDTO, Vehicle vehicle) {
+        vehicle.setMake(vehicleDTO.getMake());
+        vehicle.setModel(vehicleDTO.getModel());
+        vehicle.setYear(vehicleDTO.getYear());
+    }
+}
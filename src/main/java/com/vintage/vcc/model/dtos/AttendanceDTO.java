@@ -0,0 +1,15 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class AttendanceDTO implements Serializable {
+
+    private Long eventId;
+
+    private long vehicles;
+
+    private long members;
+}
@@ -0,0 +1,21 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class CacheStatsDTO implements Serializable {
+
+    private String cacheName;
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    private long evictionCount;
+}
@@ -0,0 +1,22 @@
+package com.vintage.vcc.model.dtos;
+
+import com.vintage.vcc.changes.AggregateType;
+import com.vintage.vcc.changes.ChangeOperation;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+@Data
+public class ChangeDTO implements Serializable {
+
+    private long sequence;
+
+    private AggregateType type;
+
+    private String id;
+
+    private ChangeOperation operation;
+
+    private Instant changedAt;
+}
@@ -0,0 +1,18 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class ChangePageDTO implements Serializable {
+
+    private List<ChangeDTO> changes;
+
+    private int limit;
+
+    private boolean hasMore;
+
+    private long nextSince;
+}
@@ -0,0 +1,23 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+public class CheckInDTO implements Serializable {
+
+    private Long eventId;
+
+    private String licensePlate;
+
+    private List<Long> ownerIds;
+
+    private Instant checkedInAt;
+
+    private boolean duplicate;
+
+    private AttendanceDTO attendance;
+}
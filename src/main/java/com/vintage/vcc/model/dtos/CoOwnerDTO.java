@@ -0,0 +1,13 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class CoOwnerDTO implements Serializable {
+
+    private Long memberId;
+
+    private int sharedVehicles;
+}
@@ -27,5 +27,7 @@ public class MemberDTO implements Serializable {
     @NotEmpty(message = "City field cannot be empty")
     private String city;
 
+    private Long version;
+
     private List<VehicleDTO> vehicles;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MemberImportReportDTO implements Serializable {
+
+    private int totalRows;
+
+    private int importedRows;
+
+    private int rejectedRows;
+
+    private List<MemberImportRowResultDTO> rows = new ArrayList<>();
+}
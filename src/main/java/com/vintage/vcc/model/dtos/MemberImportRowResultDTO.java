@@ -0,0 +1,23 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class MemberImportRowResultDTO implements Serializable {
+
+    public enum Status {
+        IMPORTED,
+        REJECTED
+    }
+
+    private int row;
+
+    private Status status;
+
+    private Long memberId;
+
+    private List<String> errors;
+}
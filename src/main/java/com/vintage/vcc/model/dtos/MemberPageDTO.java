@@ -0,0 +1,18 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class MemberPageDTO implements Serializable {
+
+    private List<MemberDTO> members;
+
+    private int limit;
+
+    private boolean hasMore;
+
+    private Long nextAfter;
+}
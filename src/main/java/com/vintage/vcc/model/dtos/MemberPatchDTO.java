@@ -0,0 +1,28 @@
+package com.vintage.vcc.model.dtos;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * JSON Merge Patch body for a member: only the fields present are changed. {@code version}, when sent, must match
+ * the stored version or the update is rejected with 409 Conflict.
+ */
+@Data
+public class MemberPatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "First name field cannot be empty.")
+    private String firstName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Last name field cannot be empty")
+    private String lastName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Email filed cannot be empty")
+    private String email;
+
+    private Character gender;
+
+    @Pattern(regexp = ".*\\S.*", message = "City field cannot be empty")
+    private String city;
+
+    private Long version;
+}
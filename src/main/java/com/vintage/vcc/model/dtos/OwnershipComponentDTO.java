@@ -0,0 +1,14 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class OwnershipComponentDTO implements Serializable {
+
+    private List<Long> memberIds;
+
+    private List<String> licensePlates;
+}
@@ -0,0 +1,19 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class SearchResultDTO implements Serializable {
+
+    private String type;
+
+    private String id;
+
+    private String title;
+
+    private String subtitle;
+
+    private float score;
+}
@@ -0,0 +1,26 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class SyncMemberDTO implements Serializable {
+
+    private Long memberId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private char gender;
+
+    private String city;
+
+    private Long version;
+
+    private List<String> licensePlates;
+}
@@ -0,0 +1,22 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class SyncPageDTO implements Serializable {
+
+    private List<SyncMemberDTO> members;
+
+    private List<SyncVehicleDTO> vehicles;
+
+    private List<Long> deletedMemberIds;
+
+    private List<String> deletedLicensePlates;
+
+    private long watermark;
+
+    private boolean hasMore;
+}
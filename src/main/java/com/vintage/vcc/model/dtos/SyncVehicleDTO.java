@@ -0,0 +1,19 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class SyncVehicleDTO implements Serializable {
+
+    private String licensePlate;
+
+    private String make;
+
+    private String model;
+
+    private int year;
+
+    private Long version;
+}
@@ -0,0 +1,15 @@
+package com.vintage.vcc.model.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class VehicleAssignmentDTO {
+
+    @NotNull(message = "Member id field cannot be null")
+    private Long memberId;
+
+    @NotBlank(message = "License plate field cannot be blank")
+    private String licensePlate;
+}
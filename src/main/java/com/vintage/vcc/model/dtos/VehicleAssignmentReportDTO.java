@@ -0,0 +1,10 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+@Data
+public class VehicleAssignmentReportDTO {
+    private int requested;
+    private int assigned;
+    private int alreadyAssigned;
+}
@@ -24,6 +24,8 @@ public class VehicleDTO implements Serializable {
     @NotNull(message = "Year field cannot be null")
     private int year;
 
+    private Long version;
+
     private List<MemberDTO> owners;
     public void setMember(MemberDTO memberDTO) {
     }
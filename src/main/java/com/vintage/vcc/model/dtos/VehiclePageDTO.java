@@ -0,0 +1,20 @@
+package com.vintage.vcc.model.dtos;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+public class VehiclePageDTO implements Serializable {
+
+    private List<VehicleDTO> vehicles;
+
+    private int page;
+
+    private int size;
+
+    private long totalElements;
+
+    private int totalPages;
+}
@@ -0,0 +1,22 @@
+package com.vintage.vcc.model.dtos;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * JSON Merge Patch body for a vehicle: only the fields present are changed. {@code version}, when sent, must match
+ * the stored version or the update is rejected with 409 Conflict.
+ */
+@Data
+public class VehiclePatchDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "Make field cannot be empty")
+    private String make;
+
+    @Pattern(regexp = ".*\\S.*", message = "Model field cannot be empty")
+    private String model;
+
+    private Integer year;
+
+    private Long version;
+}
@@ -0,0 +1,46 @@
+package com.vintage.vcc.model.entities;
+
+import com.vintage.vcc.changes.AggregateType;
+import com.vintage.vcc.changes.ChangeOperation;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A member or vehicle changed by a committed transaction. Rows are inserted in that transaction, without a
+ * sequence number; the relay numbers them in the order it first sees them committed, which is the order of the
+ * change feed.
+ */
+@Data
+@Entity
+@Table(name = "change_outbox", indexes = {
+        @Index(name = "idx_change_outbox_sequence_number", columnList = "sequence_number", unique = true),
+        @Index(name = "idx_change_outbox_aggregate", columnList = "aggregate_type, aggregate_id, sequence_number")
+})
+public class ChangeOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "sequence_number")
+    private Long sequenceNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 16)
+    private ChangeOperation operation;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
@@ -0,0 +1,30 @@
+package com.vintage.vcc.model.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A vehicle checked in at an event, as flushed from the in-memory attendance ledger.
+ */
+@Data
+@Entity
+@Table(name = "event_checkins", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_event_checkins_event_plate", columnNames = {"event_id", "license_plate"})
+})
+public class EventCheckIn {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "license_plate", nullable = false)
+    private String licensePlate;
+
+    @Column(name = "checked_in_at", nullable = false)
+    private Instant checkedInAt;
+}
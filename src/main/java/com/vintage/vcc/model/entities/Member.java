@@ -2,16 +2,32 @@ package com.vintage.vcc.model.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Entity
 @Table(name = "members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Member.CACHE_REGION)
+@NamedEntityGraph(name = Member.WITH_VEHICLES, attributeNodes = @NamedAttributeNode("vehicles"))
 public class Member {
+    public static final String WITH_VEHICLES = "Member.withVehicles";
+    public static final String CACHE_REGION = "vcc-member";
+    public static final String VEHICLES_CACHE_REGION = "vcc-member-vehicles";
+    public static final String VEHICLES_ROLE = Member.class.getName() + ".vehicles";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "members_seq")
+    @SequenceGenerator(name = "members_seq", sequenceName = "members_seq", allocationSize = 50)
     private Long memberId;
 
     @Column(name = "first_name", nullable = false)
@@ -29,10 +45,26 @@ public class Member {
     @Column(name = "city", nullable = false)
     private String city;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Defaults cover rows inserted with plain JDBC and rows that predate the columns.
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = VEHICLES_CACHE_REGION)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "member_vehicle",
             joinColumns = @JoinColumn(name = "member_id"),
-            inverseJoinColumns = @JoinColumn(name = "license_plate")
+            inverseJoinColumns = @JoinColumn(name = "license_plate"),
+            uniqueConstraints = @UniqueConstraint(name = "member_vehicle_pkey", columnNames = {"member_id", "license_plate"}),
+            indexes = @Index(name = "idx_member_vehicle_license_plate", columnList = "license_plate")
     )
     private List<Vehicle> vehicles = new ArrayList<>();
-}
\ No newline at end of file
+}
@@ -3,14 +3,33 @@ package com.vintage.vcc.model.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Entity
-@Table(name = "vehicles")
+@Table(name = "vehicles", indexes = {
+        @Index(name = "idx_vehicles_make", columnList = "make"),
+        @Index(name = "idx_vehicles_model", columnList = "model"),
+        @Index(name = "idx_vehicles_year", columnList = "year")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Vehicle.CACHE_REGION)
+@NamedEntityGraph(name = Vehicle.WITH_OWNERS, attributeNodes = @NamedAttributeNode("owners"))
 public class Vehicle {
+    public static final String WITH_OWNERS = "Vehicle.withOwners";
+    public static final String CACHE_REGION = "vcc-vehicle";
+    public static final String OWNERS_CACHE_REGION = "vcc-vehicle-owners";
+    public static final String OWNERS_ROLE = Vehicle.class.getName() + ".owners";
+
     @Id
     @Column(name = "license_plate", unique = true)
     private String licensePlate;
@@ -24,7 +43,20 @@ public class Vehicle {
     @Column(name = "year", nullable = false)
     private int year;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
     @JsonIgnore
-    @ManyToMany(mappedBy = "vehicles", fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = OWNERS_CACHE_REGION)
+    @ManyToMany(mappedBy = "vehicles", fetch = FetchType.LAZY)
     private List<Member> owners = new ArrayList<>();
-}
\ No newline at end of file
+}
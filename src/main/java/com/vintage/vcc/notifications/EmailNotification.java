@@ -0,0 +1,9 @@
+package com.vintage.vcc.notifications;
+
+import java.util.Map;
+
+/**
+ * One recipient of an {@link EmailTemplate}, with a value for each of the template's variables.
+ */
+public record EmailNotification(EmailTemplate template, String email, String name, Map<String, String> values) {
+}
@@ -0,0 +1,39 @@
+package com.vintage.vcc.notifications;
+
+import com.vintage.vcc.events.MemberCreatedEvent;
+import com.vintage.vcc.events.VehicleAssignedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Queues member emails once the change that triggers them has committed. Only an enqueue happens on the request
+ * thread; rendering and delivery are left to {@link EmailNotificationQueue}.
+ */
+@Component
+@ConditionalOnProperty(name = "vcc.notifications.enabled", havingValue = "true")
+public class EmailNotificationListener {
+    private final EmailNotificationQueue emailNotificationQueue;
+
+    public EmailNotificationListener(EmailNotificationQueue emailNotificationQueue) {
+        this.emailNotificationQueue = emailNotificationQueue;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberCreated(MemberCreatedEvent event) {
+        emailNotificationQueue.offer(new EmailNotification(EmailTemplate.MEMBER_WELCOME, event.email(), event.firstName(),
+                Map.of("firstName", event.firstName(), "city", event.city())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleAssigned(VehicleAssignedEvent event) {
+        emailNotificationQueue.offer(new EmailNotification(EmailTemplate.VEHICLE_ASSIGNED, event.email(), event.firstName(),
+                Map.of("firstName", event.firstName(),
+                        "make", event.make(),
+                        "model", event.model(),
+                        "year", String.valueOf(event.year()),
+                        "licensePlate", event.licensePlate())));
+    }
+}
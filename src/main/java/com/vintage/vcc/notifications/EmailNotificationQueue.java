@@ -0,0 +1,195 @@
+package com.vintage.vcc.notifications;
+
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers queued emails in batches on a single background thread.
+ * <p>
+ * The queue is bounded: when it is full, {@link #offer} drops the notification instead of blocking the caller. The
+ * worker waits up to {@code linger} for a batch to fill and sends it as one SendGrid request per template, with a
+ * personalization per recipient, so a thousand welcome emails cost a couple of HTTP calls rather than a thousand.
+ * Failed requests are retried with exponential backoff and given up on after {@code max-attempts}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vcc.notifications.enabled", havingValue = "true")
+public class EmailNotificationQueue {
+    public static final String NOTIFICATIONS_COUNTER = "vcc.notifications";
+    // SendGrid accepts at most 1000 personalizations per request.
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final SendGrid sendGrid;
+    private final EmailTemplates emailTemplates;
+    private final MeterRegistry meterRegistry;
+    private final Email from;
+    private final BlockingQueue<EmailNotification> queue;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Thread worker;
+
+    public EmailNotificationQueue(SendGrid sendGrid,
+                                  EmailTemplates emailTemplates,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${vcc.notifications.from:noreply@vintagecarclub.example}") String from,
+                                  @Value("${vcc.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${vcc.notifications.batch-size:500}") int batchSize,
+                                  @Value("${vcc.notifications.linger:200ms}") Duration linger,
+                                  @Value("${vcc.notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${vcc.notifications.initial-backoff:1s}") Duration initialBackoff) {
+        this.sendGrid = sendGrid;
+        this.emailTemplates = emailTemplates;
+        this.meterRegistry = meterRegistry;
+        this.from = new Email(from);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = Math.min(batchSize, MAX_BATCH_SIZE);
+        this.lingerNanos = linger.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        meterRegistry.gaugeCollectionSize(NOTIFICATIONS_COUNTER + ".queued", List.of(), queue);
+        this.worker = Thread.ofPlatform().name("vcc-notifications").daemon().start(this::run);
+    }
+
+    /**
+     * Queues a notification without blocking; returns {@code false} and drops it when the queue is full.
+     */
+    public boolean offer(EmailNotification notification) {
+        if (queue.offer(notification)) {
+            return true;
+        }
+        counter(notification.template(), "dropped").increment();
+        log.warn("Notification queue is full, dropped {} email to {}", notification.template(), notification.email());
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        List<EmailNotification> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    EmailNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            log.info("Notification worker stopped with {} emails queued", queue.size() + batch.size());
+        }
+    }
+
+    private void send(List<EmailNotification> batch) throws InterruptedException {
+        Map<EmailTemplate, List<EmailNotification>> byTemplate = new EnumMap<>(EmailTemplate.class);
+        batch.forEach(notification -> byTemplate.computeIfAbsent(notification.template(), unused -> new ArrayList<>())
+                .add(notification));
+        for (Map.Entry<EmailTemplate, List<EmailNotification>> entry : byTemplate.entrySet()) {
+            String result = sendWithRetry(toRequest(entry.getKey(), entry.getValue())) ? "sent" : "failed";
+            counter(entry.getKey(), result).increment(entry.getValue().size());
+        }
+    }
+
+    private Request toRequest(EmailTemplate template, List<EmailNotification> recipients) {
+        Mail mail = new Mail();
+        mail.setFrom(from);
+        mail.setSubject(template.subject());
+        mail.addContent(new Content("text/html", emailTemplates.body(template)));
+        for (EmailNotification recipient : recipients) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(recipient.email(), recipient.name()));
+            recipient.values().forEach((variable, value) ->
+                    personalization.addSubstitution(EmailTemplates.tag(variable), HtmlUtils.htmlEscape(value)));
+            mail.addPersonalization(personalization);
+        }
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        try {
+            request.setBody(mail.build());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize " + template + " email", e);
+        }
+        return request;
+    }
+
+    /**
+     * The SendGrid client throws only on I/O errors and returns other responses as they are, so the status is
+     * checked here: 429 and 5xx are retried, any other non-2xx is a rejected request and is not.
+     */
+    private boolean sendWithRetry(Request request) throws InterruptedException {
+        long backoffMillis = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            String failure;
+            try {
+                Response response = sendGrid.api(request);
+                int status = response.getStatusCode();
+                if (status >= 200 && status < 300) {
+                    return true;
+                }
+                failure = "status " + status + ": " + response.getBody();
+                if (status != 429 && status < 500) {
+                    log.error("Sending emails was rejected with {}", failure);
+                    return false;
+                }
+            } catch (IOException e) {
+                failure = e.getMessage();
+            }
+            if (attempt >= maxAttempts) {
+                log.error("Sending emails failed after {} attempts: {}", attempt, failure);
+                return false;
+            }
+            log.warn("Sending emails failed (attempt {} of {}), retrying in {} ms: {}", attempt, maxAttempts,
+                    backoffMillis, failure);
+            Thread.sleep(backoffMillis);
+            backoffMillis *= 2;
+        }
+    }
+
+    private Counter counter(EmailTemplate template, String result) {
+        return Counter.builder(NOTIFICATIONS_COUNTER)
+                .tag("template", template.name())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
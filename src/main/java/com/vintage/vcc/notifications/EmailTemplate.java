@@ -0,0 +1,35 @@
+package com.vintage.vcc.notifications;
+
+import java.util.List;
+
+/**
+ * The Thymeleaf template under {@code templates/}, the subject line and the per-recipient values of each email.
+ */
+public enum EmailTemplate {
+    MEMBER_WELCOME("email/member-welcome", "Welcome to the Vintage Car Club",
+            List.of("firstName", "city")),
+    VEHICLE_ASSIGNED("email/vehicle-assigned", "A vehicle was added to your garage",
+            List.of("firstName", "make", "model", "year", "licensePlate"));
+
+    private final String templateName;
+    private final String subject;
+    private final List<String> variables;
+
+    EmailTemplate(String templateName, String subject, List<String> variables) {
+        this.templateName = templateName;
+        this.subject = subject;
+        this.variables = variables;
+    }
+
+    public String templateName() {
+        return templateName;
+    }
+
+    public String subject() {
+        return subject;
+    }
+
+    public List<String> variables() {
+        return variables;
+    }
+}
@@ -0,0 +1,36 @@
+package com.vintage.vcc.notifications;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Renders every {@link EmailTemplate} once, at startup, with each variable bound to its SendGrid substitution tag.
+ * A batch then shares one body, and SendGrid puts each recipient's values in place of the tags, so no template is
+ * parsed or rendered while sending.
+ */
+@Component
+@ConditionalOnProperty(name = "vcc.notifications.enabled", havingValue = "true")
+public class EmailTemplates {
+    private final Map<EmailTemplate, String> bodies = new EnumMap<>(EmailTemplate.class);
+
+    public EmailTemplates(ITemplateEngine templateEngine) {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            Context context = new Context();
+            template.variables().forEach(variable -> context.setVariable(variable, tag(variable)));
+            bodies.put(template, templateEngine.process(template.templateName(), context));
+        }
+    }
+
+    public String body(EmailTemplate template) {
+        return bodies.get(template);
+    }
+
+    public static String tag(String variable) {
+        return "-" + variable + "-";
+    }
+}
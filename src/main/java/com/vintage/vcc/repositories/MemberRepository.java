@@ -1,13 +1,96 @@
 package com.vintage.vcc.repositories;
 
 import com.vintage.vcc.model.entities.Member;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Member> findAll(Sort sort);
-}
\ No newline at end of file
+
+    @EntityGraph(Member.WITH_VEHICLES)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT m FROM Member m")
+    List<Member> findAllWithVehicles(Sort sort);
+
+    @EntityGraph(Member.WITH_VEHICLES)
+    Optional<Member> findWithVehiclesByMemberId(Long memberId);
+
+    @Query("SELECT m.memberId FROM Member m WHERE m.memberId > :after ORDER BY m.memberId")
+    List<Long> findPageIdsAfter(@Param("after") Long after, Pageable pageable);
+
+    @EntityGraph(Member.WITH_VEHICLES)
+    @Query("SELECT m FROM Member m WHERE m.memberId IN :memberIds ORDER BY m.memberId")
+    List<Member> findAllWithVehiclesByMemberIdIn(@Param("memberIds") Collection<Long> memberIds);
+
+    @Query("SELECT m.email FROM Member m WHERE m.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT m.memberId FROM Member m WHERE m.memberId IN :memberIds")
+    Set<Long> findExistingMemberIds(@Param("memberIds") Collection<Long> memberIds);
+
+    @Query("SELECT m.memberId, v.licensePlate FROM Member m JOIN m.vehicles v " +
+            "WHERE m.memberId IN :memberIds AND v.licensePlate IN :licensePlates")
+    List<Object[]> findVehicleLinks(@Param("memberIds") Collection<Long> memberIds,
+                                    @Param("licensePlates") Collection<String> licensePlates);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.vehicles ORDER BY m.memberId")
+    Stream<Member> streamAllWithVehicles();
+
+    @Query("SELECT m.version, m.lastModified, v.licensePlate, v.version, v.lastModified FROM Member m LEFT JOIN m.vehicles v " +
+            "WHERE m.memberId = :memberId ORDER BY v.licensePlate")
+    List<Object[]> findVersionsByMemberId(@Param("memberId") Long memberId);
+
+    // Row counts, version totals and latest modifications of everything the member and vehicle listings are
+    // built from, which together change on every insert, update and delete.
+    @Query(value = "SELECT (SELECT COUNT(*) FROM members), (SELECT SUM(version) FROM members), " +
+            "(SELECT MAX(last_modified) FROM members), (SELECT COUNT(*) FROM vehicles), " +
+            "(SELECT SUM(version) FROM vehicles), (SELECT MAX(last_modified) FROM vehicles), " +
+            "(SELECT COUNT(*) FROM member_vehicle)", nativeQuery = true)
+    List<Object[]> summarizeRosterVersions();
+
+    // Merge patch: a null parameter leaves its column as it is, and a null version skips the concurrency check.
+    // CASE rather than COALESCE, whose type Hibernate 6.2 cannot infer from a leading parameter in a SET clause.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE VERSIONED Member m SET " +
+            "m.firstName = CASE WHEN :firstName IS NULL THEN m.firstName ELSE :firstName END, " +
+            "m.lastName = CASE WHEN :lastName IS NULL THEN m.lastName ELSE :lastName END, " +
+            "m.email = CASE WHEN :email IS NULL THEN m.email ELSE :email END, " +
+            "m.gender = CASE WHEN :gender IS NULL THEN m.gender ELSE :gender END, " +
+            "m.city = CASE WHEN :city IS NULL THEN m.city ELSE :city END, m.lastModified = :lastModified " +
+            "WHERE m.memberId = :memberId AND (:version IS NULL OR m.version = :version)")
+    int patchByMemberId(@Param("memberId") Long memberId, @Param("version") Long version,
+                        @Param("firstName") String firstName, @Param("lastName") String lastName,
+                        @Param("email") String email, @Param("gender") Character gender, @Param("city") String city,
+                        @Param("lastModified") Instant lastModified);
+
+    @Modifying
+    @Query("UPDATE VERSIONED Member m SET m.lastModified = :lastModified WHERE m.memberId IN :memberIds")
+    void touchByMemberIdIn(@Param("memberIds") Collection<Long> memberIds, @Param("lastModified") Instant lastModified);
+}
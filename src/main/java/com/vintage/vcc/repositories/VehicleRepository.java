@@ -1,37 +1,76 @@
 package com.vintage.vcc.repositories;
 
+import com.vintage.vcc.config.CacheConfig;
 import com.vintage.vcc.model.entities.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
+public interface VehicleRepository extends JpaRepository<Vehicle, String>, JpaSpecificationExecutor<Vehicle> {
     Vehicle findByLicensePlate(String licensePlate);
+
+    @EntityGraph(Vehicle.WITH_OWNERS)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT v FROM Vehicle v")
+    List<Vehicle> findAllWithOwners(Sort sort);
+
+    @EntityGraph(Vehicle.WITH_OWNERS)
+    @Query("SELECT v FROM Vehicle v WHERE v.licensePlate IN :licensePlates")
+    List<Vehicle> findAllWithOwnersByLicensePlateIn(@Param("licensePlates") Collection<String> licensePlates);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.owners ORDER BY v.licensePlate")
+    Stream<Vehicle> streamAllWithOwners();
+
     boolean existsByLicensePlate(String licensePlate);
 
-    @Query(value = "SELECT * FROM vehicles v " +
-            "WHERE (:licensePlate IS NULL OR v.license_plate = :licensePlate) " +
-            "AND (:make IS NULL OR v.make = :make) " +
-            "AND (:model IS NULL OR v.model = :model) " +
-            "AND (:year IS NULL OR v.year = :year)",
-            nativeQuery = true)
-    List<Vehicle> findVehiclesByParams(
-            @Param("licensePlate") String licensePlate,
-            @Param("make") String make,
-            @Param("model") String model,
-            @Param("year") Integer year
-    );
+    @Query("SELECT v.licensePlate FROM Vehicle v WHERE v.licensePlate IN :licensePlates")
+    Set<String> findExistingLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
+
     void deleteByLicensePlate(String licensePlate);
 
+    // Hibernate invalidates the Vehicle entity region and the query cache for bulk JPQL updates; the
+    // plate lookup cache is not Hibernate's and is evicted here.
     @Modifying
-    @Query("UPDATE Vehicle v SET v.make = :make WHERE v.licensePlate = :licensePlate")
-    void updateMakeByLicensePlate(@Param("make") String make, @Param("licensePlate") String licensePlate);
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate")
+    @Query("UPDATE VERSIONED Vehicle v SET v.make = :make, v.lastModified = :lastModified WHERE v.licensePlate = :licensePlate")
+    void updateMakeByLicensePlate(@Param("make") String make, @Param("licensePlate") String licensePlate,
+                                  @Param("lastModified") Instant lastModified);
 
     @Modifying
-    @Query("UPDATE Vehicle v SET v.model = :model, v.year = :year WHERE v.licensePlate = :licensePlate")
-    void updateModelAndYearByLicensePlate(@Param("model") String model, @Param("year") int year, @Param("licensePlate") String licensePlate);
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate")
+    @Query("UPDATE VERSIONED Vehicle v SET v.model = :model, v.year = :year, v.lastModified = :lastModified " +
+            "WHERE v.licensePlate = :licensePlate")
+    void updateModelAndYearByLicensePlate(@Param("model") String model, @Param("year") int year, @Param("licensePlate") String licensePlate,
+                                          @Param("lastModified") Instant lastModified);
+
+    // Merge patch: a null parameter leaves its column as it is, and a null version skips the concurrency check.
+    // CASE rather than COALESCE, whose type Hibernate 6.2 cannot infer from a leading parameter in a SET clause.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE VERSIONED Vehicle v SET " +
+            "v.make = CASE WHEN :make IS NULL THEN v.make ELSE :make END, " +
+            "v.model = CASE WHEN :model IS NULL THEN v.model ELSE :model END, " +
+            "v.year = CASE WHEN :year IS NULL THEN v.year ELSE :year END, v.lastModified = :lastModified " +
+            "WHERE v.licensePlate = :licensePlate AND (:version IS NULL OR v.version = :version)")
+    int patchByLicensePlate(@Param("licensePlate") String licensePlate, @Param("version") Long version,
+                            @Param("make") String make, @Param("model") String model, @Param("year") Integer year,
+                            @Param("lastModified") Instant lastModified);
 }
\ No newline at end of file
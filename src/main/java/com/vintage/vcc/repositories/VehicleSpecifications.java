@@ -0,0 +1,64 @@
+package com.vintage.vcc.repositories;
+
+import com.vintage.vcc.model.entities.Vehicle;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+public final class VehicleSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private VehicleSpecifications() {
+    }
+
+    public static Specification<Vehicle> licensePlateEquals(String licensePlate) {
+        return licensePlate == null ? null : (root, query, cb) -> cb.equal(root.get("licensePlate"), licensePlate);
+    }
+
+    public static Specification<Vehicle> makeEquals(String make) {
+        return make == null ? null : (root, query, cb) -> cb.equal(root.get("make"), make);
+    }
+
+    public static Specification<Vehicle> modelEquals(String model) {
+        return model == null ? null : (root, query, cb) -> cb.equal(root.get("model"), model);
+    }
+
+    public static Specification<Vehicle> yearEquals(Integer year) {
+        return year == null ? null : (root, query, cb) -> cb.equal(root.get("year"), year);
+    }
+
+    public static Specification<Vehicle> makeStartsWithIgnoreCase(String prefix) {
+        return startsWithIgnoreCase("make", prefix);
+    }
+
+    public static Specification<Vehicle> modelStartsWithIgnoreCase(String prefix) {
+        return startsWithIgnoreCase("model", prefix);
+    }
+
+    public static Specification<Vehicle> yearFrom(Integer yearFrom) {
+        return yearFrom == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("year"), yearFrom);
+    }
+
+    public static Specification<Vehicle> yearTo(Integer yearTo) {
+        return yearTo == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("year"), yearTo);
+    }
+
+    private static Specification<Vehicle> startsWithIgnoreCase(String attribute, String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, LIKE_ESCAPE);
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vintage.vcc.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients have written recently, so their reads can be kept on the primary until the replicas have
+ * caught up with the write. The client is bound to the request thread by {@link ReadYourWritesFilter}; work done
+ * without a client, such as background jobs and asynchronous response bodies, is never pinned.
+ */
+public class ReadYourWrites {
+    private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maximumClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maximumClients)
+                .build();
+    }
+
+    public void bind(String client) {
+        currentClient.set(client);
+    }
+
+    public void unbind() {
+        currentClient.remove();
+    }
+
+    /**
+     * Pins the current client to the primary for the next {@code window}.
+     */
+    public void recordWrite() {
+        String client = currentClient.get();
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        String client = currentClient.get();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+}
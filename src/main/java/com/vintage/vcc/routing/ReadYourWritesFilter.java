@@ -0,0 +1,31 @@
+package com.vintage.vcc.routing;
+
+import com.vintage.vcc.config.ClientKey;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private final ClientKey clientKey;
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesFilter(ClientKey clientKey, ReadYourWrites readYourWrites) {
+        this.clientKey = clientKey;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWrites.bind(clientKey.of(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.unbind();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.vintage.vcc.search;
+
+public record SearchDocument(String type, String id, String title, String subtitle) {
+
+    public String key() {
+        return key(type, id);
+    }
+
+    public static String key(String type, String id) {
+        return type + ":" + id;
+    }
+}
@@ -0,0 +1,4 @@
+package com.vintage.vcc.search;
+
+public record SearchHit(SearchDocument document, float score) {
+}
@@ -0,0 +1,478 @@
+package com.vintage.vcc.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over members and vehicles.
+ * <p>
+ * Each query token is matched exactly, then as a prefix of indexed terms, and only when neither finds anything,
+ * against terms within a small edit distance (candidates come from a trigram index over the vocabulary).
+ * Documents are ranked by the sum of their matched term weights scaled by inverse document frequency, multiplied
+ * by the number of query tokens they matched, so a vehicle matching both "jag" and "lyon" outranks one matching
+ * only "jaguar".
+ * <p>
+ * Postings are append-only: replacing or removing a document only marks its slot dead, and dead slots are
+ * dropped by a compaction once they make up a quarter of the index.
+ */
+public class SearchIndex {
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "at", "by", "for", "from", "in", "my",
+            "of", "on", "or", "that", "the", "this", "to", "with");
+    private static final int MAX_QUERY_TOKENS = 16;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_TRIGRAM_FANOUT = 10_000;
+    private static final int MIN_DEAD_DOCUMENTS_TO_COMPACT = 1_000;
+    private static final int MIN_COMMON_TOKEN_DOCUMENTS = 1_000;
+    private static final int MAX_CANDIDATES = 10_000;
+    private static final float PREFIX_FACTOR = 0.7f;
+    private static final float FUZZY_FACTOR = 0.5f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, List<String>> termsByTrigram = new HashMap<>();
+    private final Map<String, Integer> docIdsByKey = new HashMap<>();
+    private List<SearchDocument> documents = new ArrayList<>();
+    private int deadDocuments;
+
+    public void put(SearchDocument document, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.key());
+            int docId = documents.size();
+            documents.add(document);
+            docIdsByKey.put(document.key(), docId);
+            termWeights.forEach((term, weight) -> terms.computeIfAbsent(term, this::newTerm).add(docId, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(SearchDocument.key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            termsByTrigram.clear();
+            docIdsByKey.clear();
+            documents = new ArrayList<>();
+            deadDocuments = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> tokenMatches = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                TokenMatch tokenMatch = match(tokens.get(i), 1L << i);
+                if (!tokenMatch.terms().isEmpty()) {
+                    tokenMatches.add(tokenMatch);
+                }
+            }
+            // Rare tokens pick the candidates; a token shared by a large part of the index only re-ranks them.
+            // The candidate set is capped, so a query made only of very common tokens ranks a bounded sample
+            // of its matches, taken from the highest-weighted postings first.
+            tokenMatches.sort(Comparator.comparingLong(TokenMatch::documentFrequency));
+            int documentCount = docIdsByKey.size();
+            long commonTokenThreshold = Math.max(MIN_COMMON_TOKEN_DOCUMENTS, documentCount / 100);
+            ScoreTable scores = new ScoreTable(tokenMatches.isEmpty() ? 0 : tokenMatches.get(0).documentFrequency());
+            for (TokenMatch tokenMatch : tokenMatches) {
+                boolean boostOnly = scores.size > 0 && tokenMatch.documentFrequency() > commonTokenThreshold;
+                for (TermMatch term : tokenMatch.terms()) {
+                    float factor = term.factor() * idf(term.postings().size, documentCount);
+                    if (boostOnly) {
+                        scores.boost(term.postings(), factor, tokenMatch.tokenBit());
+                    } else {
+                        scores.add(term.postings(), factor, tokenMatch.tokenBit());
+                    }
+                }
+            }
+            return scores.top(limit, documents);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SearchTerms.tokenize(query)) {
+            if (!STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        // Emails and license plates are also indexed with their separators removed, which is far more selective
+        // than their individual parts.
+        if (tokens.size() > 1 && query.strip().chars().noneMatch(Character::isWhitespace)) {
+            tokens.add(SearchTerms.compact(query));
+        }
+        return tokens.stream().limit(MAX_QUERY_TOKENS).toList();
+    }
+
+    private TokenMatch match(String token, long tokenBit) {
+        List<TermMatch> matches = new ArrayList<>();
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            matches.add(new TermMatch(exact, 1f));
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Postings postings : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                if (matches.size() > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                matches.add(new TermMatch(postings, PREFIX_FACTOR));
+            }
+        }
+        if (matches.isEmpty()) {
+            addFuzzyMatches(token, matches);
+        }
+        long documentFrequency = 0;
+        for (TermMatch match : matches) {
+            documentFrequency += match.postings().size;
+        }
+        return new TokenMatch(tokenBit, matches, documentFrequency);
+    }
+
+    private void addFuzzyMatches(String token, List<TermMatch> matches) {
+        // Typos are only corrected in words; a near miss on a plate or an id number is a different record.
+        if (token.length() < MIN_FUZZY_LENGTH || !token.chars().allMatch(Character::isLetter)) {
+            return;
+        }
+        int maxDistance = token.length() <= 7 ? 1 : 2;
+        List<String> trigrams = trigrams(token);
+        // An edit touches at most three padded trigrams, so closer terms must share the rest.
+        int minShared = trigrams.size() - 3 * maxDistance;
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : trigrams) {
+            List<String> candidates = termsByTrigram.get(trigram);
+            if (candidates == null) {
+                continue;
+            }
+            if (candidates.size() > MAX_TRIGRAM_FANOUT) {
+                minShared--;
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (Math.abs(candidate.length() - token.length()) <= maxDistance) {
+                    sharedTrigrams.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        int threshold = Math.max(1, minShared);
+        sharedTrigrams.forEach((candidate, shared) -> {
+            if (shared < threshold) {
+                return;
+            }
+            int distance = editDistance(token, candidate, maxDistance);
+            Postings postings = terms.get(candidate);
+            if (distance <= maxDistance && postings != null) {
+                matches.add(new TermMatch(postings, FUZZY_FACTOR / distance));
+            }
+        });
+    }
+
+    private static float idf(int documentFrequency, int documentCount) {
+        return (float) Math.log(1 + (double) documentCount / Math.max(1, documentFrequency));
+    }
+
+    private Postings newTerm(String term) {
+        for (String trigram : trigrams(term)) {
+            termsByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>(2)).add(term);
+        }
+        return new Postings();
+    }
+
+    private void removeLocked(String key) {
+        Integer docId = docIdsByKey.remove(key);
+        if (docId == null) {
+            return;
+        }
+        documents.set(docId, null);
+        deadDocuments++;
+        if (deadDocuments >= MIN_DEAD_DOCUMENTS_TO_COMPACT && deadDocuments * 4 >= documents.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newIds = new int[documents.size()];
+        List<SearchDocument> liveDocuments = new ArrayList<>(docIdsByKey.size());
+        for (int docId = 0; docId < documents.size(); docId++) {
+            SearchDocument document = documents.get(docId);
+            newIds[docId] = -1;
+            if (document != null) {
+                newIds[docId] = liveDocuments.size();
+                docIdsByKey.put(document.key(), liveDocuments.size());
+                liveDocuments.add(document);
+            }
+        }
+        terms.values().removeIf(postings -> postings.remap(newIds) == 0);
+        termsByTrigram.clear();
+        terms.keySet().forEach(term -> {
+            for (String trigram : trigrams(term)) {
+                termsByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>(2)).add(term);
+            }
+        });
+        documents = liveDocuments;
+        deadDocuments = 0;
+    }
+
+    static List<String> trigrams(String term) {
+        String padded = "^" + term + "$";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private record TermMatch(Postings postings, float factor) {
+    }
+
+    private record TokenMatch(long tokenBit, List<TermMatch> terms, long documentFrequency) {
+    }
+
+    /**
+     * Document ids are appended in increasing order and compaction keeps that order, so each list is sorted.
+     */
+    private static final class Postings {
+        private int[] docIds = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+        private float maxWeight;
+
+        void add(int docId, float weight) {
+            maxWeight = Math.max(maxWeight, weight);
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docIds[size] = docId;
+            weights[size] = weight;
+            size++;
+        }
+
+        int remap(int[] newIds) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                int newId = newIds[docIds[i]];
+                if (newId >= 0) {
+                    docIds[live] = newId;
+                    weights[live] = weights[i];
+                    live++;
+                }
+            }
+            size = live;
+            return live;
+        }
+    }
+
+    /**
+     * Open-addressing map from document id to its running score and the set of query tokens it matched.
+     */
+    private static final class ScoreTable {
+        private int[] docIds;
+        private float[] scores;
+        private long[] matchedTokens;
+        private int size;
+
+        ScoreTable(long expectedCandidates) {
+            int capacity = Integer.highestOneBit((int) Math.min(MAX_CANDIDATES, Math.max(512, expectedCandidates)) * 2) * 2;
+            docIds = new int[capacity];
+            scores = new float[capacity];
+            matchedTokens = new long[capacity];
+            Arrays.fill(docIds, -1);
+        }
+
+        void add(Postings postings, float factor, long tokenBit) {
+            if (size + postings.size <= MAX_CANDIDATES) {
+                for (int i = 0; i < postings.size; i++) {
+                    apply(slot(postings.docIds[i]), postings.weights[i] * factor, tokenBit);
+                }
+                return;
+            }
+            boost(postings, factor, tokenBit);
+            for (int i = 0; i < postings.size && size < MAX_CANDIDATES; i++) {
+                if (postings.weights[i] >= postings.maxWeight) {
+                    apply(slot(postings.docIds[i]), postings.weights[i] * factor, tokenBit);
+                }
+            }
+            for (int i = 0; i < postings.size && size < MAX_CANDIDATES; i++) {
+                apply(slot(postings.docIds[i]), postings.weights[i] * factor, tokenBit);
+            }
+        }
+
+        private void apply(int slot, float score, long tokenBit) {
+            // A token only counts once per document, through its best (earliest) kind of match.
+            if ((matchedTokens[slot] & tokenBit) == 0) {
+                matchedTokens[slot] |= tokenBit;
+                scores[slot] += score;
+            }
+        }
+
+        private int find(int docId) {
+            int mask = docIds.length - 1;
+            int slot = hash(docId) & mask;
+            while (docIds[slot] >= 0) {
+                if (docIds[slot] == docId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(int docId) {
+            // Murmur3 finalizer: postings of common terms are evenly spaced ids, which cluster under weaker mixing.
+            int hash = docId;
+            hash ^= hash >>> 16;
+            hash *= 0x85EBCA6B;
+            hash ^= hash >>> 13;
+            hash *= 0xC2B2AE35;
+            return hash ^ hash >>> 16;
+        }
+
+        /**
+         * Adds the token's score to documents that are already candidates, without admitting new ones.
+         */
+        void boost(Postings postings, float factor, long tokenBit) {
+            if (size == 0) {
+                return;
+            }
+            if ((long) size * (32 - Integer.numberOfLeadingZeros(postings.size)) < postings.size) {
+                for (int slot = 0; slot < docIds.length; slot++) {
+                    if (docIds[slot] >= 0) {
+                        int i = Arrays.binarySearch(postings.docIds, 0, postings.size, docIds[slot]);
+                        if (i >= 0) {
+                            apply(slot, postings.weights[i] * factor, tokenBit);
+                        }
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < postings.size; i++) {
+                int slot = find(postings.docIds[i]);
+                if (slot >= 0) {
+                    apply(slot, postings.weights[i] * factor, tokenBit);
+                }
+            }
+        }
+
+        List<SearchHit> top(int limit, List<SearchDocument> documents) {
+            Comparator<SearchHit> byScore = Comparator.comparingDouble(SearchHit::score);
+            PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, byScore);
+            for (int slot = 0; slot < docIds.length; slot++) {
+                if (docIds[slot] < 0) {
+                    continue;
+                }
+                float score = scores[slot] * Long.bitCount(matchedTokens[slot]);
+                if (best.size() == limit && score <= best.peek().score()) {
+                    continue;
+                }
+                SearchDocument document = documents.get(docIds[slot]);
+                if (document == null) {
+                    continue;
+                }
+                if (best.size() == limit) {
+                    best.poll();
+                }
+                best.add(new SearchHit(document, score));
+            }
+            List<SearchHit> hits = new ArrayList<>(best);
+            hits.sort(byScore.reversed().thenComparing(hit -> hit.document().key()));
+            return hits;
+        }
+
+        private int slot(int docId) {
+            if (size * 2 >= docIds.length) {
+                resize();
+            }
+            int mask = docIds.length - 1;
+            int slot = hash(docId) & mask;
+            while (docIds[slot] >= 0 && docIds[slot] != docId) {
+                slot = (slot + 1) & mask;
+            }
+            if (docIds[slot] < 0) {
+                docIds[slot] = docId;
+                size++;
+            }
+            return slot;
+        }
+
+        private void resize() {
+            int[] oldDocIds = docIds;
+            float[] oldScores = scores;
+            long[] oldMatchedTokens = matchedTokens;
+            docIds = new int[oldDocIds.length * 2];
+            scores = new float[docIds.length];
+            matchedTokens = new long[docIds.length];
+            Arrays.fill(docIds, -1);
+            size = 0;
+            for (int i = 0; i < oldDocIds.length; i++) {
+                if (oldDocIds[i] >= 0) {
+                    int slot = slot(oldDocIds[i]);
+                    scores[slot] = oldScores[i];
+                    matchedTokens[slot] = oldMatchedTokens[i];
+                }
+            }
+        }
+    }
+}
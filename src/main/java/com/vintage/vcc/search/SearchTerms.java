@@ -0,0 +1,62 @@
+package com.vintage.vcc.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the weighted terms of one document. A term that appears in several fields keeps its highest weight.
+ */
+public final class SearchTerms {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<String, Float> weights = new HashMap<>();
+
+    public SearchTerms add(String text, float weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Math::max);
+        }
+        return this;
+    }
+
+    public SearchTerms addCompact(String text, float weight) {
+        String compact = compact(text);
+        if (!compact.isEmpty()) {
+            weights.merge(compact, weight, Math::max);
+        }
+        return this;
+    }
+
+    public Map<String, Float> weights() {
+        return weights;
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SEPARATORS.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    static String compact(String text) {
+        return text == null ? "" : SEPARATORS.matcher(normalize(text)).replaceAll("");
+    }
+
+    private static String normalize(String text) {
+        if (text.chars().allMatch(c -> c < 0x80)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
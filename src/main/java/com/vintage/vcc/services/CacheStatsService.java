@@ -0,0 +1,8 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.CacheStatsDTO;
+
+public interface CacheStatsService {
+
+    CacheStatsDTO getCacheStats(String cacheName);
+}
@@ -0,0 +1,72 @@
+package com.vintage.vcc.services;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vintage.vcc.exceptions.ResourceNotFoundException;
+import com.vintage.vcc.model.dtos.CacheStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatsServiceImpl(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats(String cacheName) {
+        return Optional.ofNullable(cacheManager.getCache(cacheName))
+                .map(this::unwrap)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> {
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+                    CacheStats stats = nativeCache.stats();
+
+                    CacheStatsDTO cacheStatsDTO = new CacheStatsDTO();
+                    cacheStatsDTO.setCacheName(cacheName);
+                    cacheStatsDTO.setSize(nativeCache.estimatedSize());
+                    cacheStatsDTO.setHitCount(stats.hitCount());
+                    cacheStatsDTO.setMissCount(stats.missCount());
+                    cacheStatsDTO.setHitRate(stats.hitRate());
+                    cacheStatsDTO.setEvictionCount(stats.evictionCount());
+                    return cacheStatsDTO;
+                })
+                .or(() -> getSecondLevelCacheStats(cacheName))
+                .orElseThrow(() -> new ResourceNotFoundException("Cache: " + cacheName + " not found"));
+    }
+
+    /**
+     * Hibernate second-level cache regions, from Hibernate's statistics. Regions do not report evictions, and
+     * report a size of -1 when the cache provider does not expose it.
+     */
+    private Optional<CacheStatsDTO> getSecondLevelCacheStats(String regionName) {
+        return Optional.ofNullable(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCacheRegionStatistics(regionName))
+                .map(stats -> {
+                    long lookups = stats.getHitCount() + stats.getMissCount();
+
+                    CacheStatsDTO cacheStatsDTO = new CacheStatsDTO();
+                    cacheStatsDTO.setCacheName(regionName);
+                    cacheStatsDTO.setSize(stats.getElementCountInMemory() == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN
+                            ? -1 : stats.getElementCountInMemory());
+                    cacheStatsDTO.setHitCount(stats.getHitCount());
+                    cacheStatsDTO.setMissCount(stats.getMissCount());
+                    cacheStatsDTO.setHitRate(lookups == 0 ? 1.0 : (double) stats.getHitCount() / lookups);
+                    return cacheStatsDTO;
+                });
+    }
+
+    private Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
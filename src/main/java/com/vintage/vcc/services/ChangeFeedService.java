@@ -0,0 +1,11 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.ChangePageDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeFeedService {
+
+    ChangePageDTO getChanges(long since, int limit);
+
+    SseEmitter subscribe(long since);
+}
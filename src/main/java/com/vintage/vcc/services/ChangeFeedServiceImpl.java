@@ -0,0 +1,255 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.changes.AggregateType;
+import com.vintage.vcc.changes.ChangeOperation;
+import com.vintage.vcc.changes.ChangesPublishedEvent;
+import com.vintage.vcc.model.dtos.ChangeDTO;
+import com.vintage.vcc.model.dtos.ChangePageDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the change feed as pages and as server-sent events.
+ * <p>
+ * Stream subscribers are written to from a small pool of {@code vcc-change-stream} threads, never from the relay's
+ * thread, so a slow client only holds up its own stream. Each published range is read once by the
+ * {@code vcc-change-fan-out} thread and offered to every subscriber's queue of {@code stream-buffer-size} changes; a
+ * subscriber whose queue is full has fallen behind and is closed, to resume from {@code Last-Event-ID}.
+ */
+@Slf4j
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    private static final String CHANGES_QUERY = "SELECT sequence_number, aggregate_type, aggregate_id, operation, created_at " +
+            "FROM change_outbox WHERE sequence_number > :since ORDER BY sequence_number LIMIT :limit";
+    private static final String CHANGE_EVENT = "change";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int streamBatchSize;
+    private final int streamBufferSize;
+    private final Duration streamTimeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService fanOutExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("vcc-change-fan-out").daemon().factory());
+    private final ExecutorService streamExecutor;
+
+    public ChangeFeedServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                 @Value("${vcc.changes.relay-batch-size:500}") int streamBatchSize,
+                                 @Value("${vcc.changes.stream-buffer-size:1000}") int streamBufferSize,
+                                 @Value("${vcc.changes.stream-threads:4}") int streamThreads,
+                                 @Value("${vcc.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamBatchSize = streamBatchSize;
+        this.streamBufferSize = streamBufferSize;
+        this.streamTimeout = streamTimeout;
+        this.streamExecutor = Executors.newFixedThreadPool(streamThreads,
+                Thread.ofPlatform().name("vcc-change-stream-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+        streamExecutor.shutdownNow();
+    }
+
+    @Override
+    public ChangePageDTO getChanges(long since, int limit) {
+        List<ChangeDTO> changes = findChanges(since, limit + 1);
+        ChangePageDTO changePageDTO = new ChangePageDTO();
+        changePageDTO.setLimit(limit);
+        changePageDTO.setHasMore(changes.size() > limit);
+        changePageDTO.setChanges(changes.size() > limit ? changes.subList(0, limit) : changes);
+        changePageDTO.setNextSince(changePageDTO.getChanges().isEmpty()
+                ? since
+                : changePageDTO.getChanges().get(changePageDTO.getChanges().size() - 1).getSequence());
+        return changePageDTO;
+    }
+
+    /**
+     * Returns the stream at once; the changes after {@code since} are replayed from the database a batch at a
+     * time on the stream threads, and then each batch the relay publishes follows. Every event carries its sequence
+     * number as the SSE id, so a reconnecting client resumes from {@code Last-Event-ID}.
+     */
+    @Override
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since, streamBufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @EventListener
+    public void onChangesPublished(ChangesPublishedEvent event) {
+        if (!subscribers.isEmpty()) {
+            fanOutExecutor.execute(() -> fanOut(event));
+        }
+    }
+
+    private void fanOut(ChangesPublishedEvent event) {
+        long since = event.firstSequenceNumber() - 1;
+        try {
+            while (since < event.lastSequenceNumber() && !subscribers.isEmpty()) {
+                List<ChangeDTO> changes = findChanges(since, (int) Math.min(streamBatchSize, event.lastSequenceNumber() - since));
+                if (changes.isEmpty()) {
+                    return;
+                }
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.offer(changes)) {
+                        schedule(subscriber);
+                    } else {
+                        log.info("Closing change stream subscriber that fell {} changes behind", streamBufferSize);
+                        subscribers.remove(subscriber);
+                        subscriber.emitter.complete();
+                    }
+                }
+                since = changes.get(changes.size() - 1).getSequence();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Fanning out changes after {} failed, subscribers catch up from the database", since, e);
+            subscribers.forEach(subscriber -> {
+                subscriber.resync();
+                schedule(subscriber);
+            });
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            streamExecutor.execute(() -> deliver(subscriber));
+        }
+    }
+
+    /**
+     * Sends one batch, either read from the database while the subscriber is replaying or taken from its queue, and
+     * reschedules itself while there is more, so subscribers share the stream threads.
+     */
+    private void deliver(Subscriber subscriber) {
+        try {
+            if (subscriber.isReplaying()) {
+                List<ChangeDTO> changes = findChanges(subscriber.cursor, streamBatchSize);
+                send(subscriber, changes);
+                if (changes.size() < streamBatchSize) {
+                    subscriber.endReplay();
+                }
+            } else {
+                List<ChangeDTO> changes = new ArrayList<>(streamBatchSize);
+                subscriber.pending.drainTo(changes, streamBatchSize);
+                send(subscriber, changes);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Change stream subscriber disconnected: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscribers.contains(subscriber) && subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, List<ChangeDTO> changes) throws IOException {
+        for (ChangeDTO change : changes) {
+            if (change.getSequence() <= subscriber.cursor) {
+                continue;
+            }
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(change.getSequence()))
+                    .name(CHANGE_EVENT)
+                    .data(change, MediaType.APPLICATION_JSON));
+            subscriber.cursor = change.getSequence();
+        }
+    }
+
+    private List<ChangeDTO> findChanges(long since, int limit) {
+        return jdbcTemplate.query(CHANGES_QUERY, Map.of("since", since, "limit", limit), (rs, rowNum) -> {
+            ChangeDTO changeDTO = new ChangeDTO();
+            changeDTO.setSequence(rs.getLong(1));
+            changeDTO.setType(AggregateType.valueOf(rs.getString(2)));
+            changeDTO.setId(rs.getString(3));
+            changeDTO.setOperation(ChangeOperation.valueOf(rs.getString(4)));
+            changeDTO.setChangedAt(rs.getTimestamp(5).toInstant());
+            return changeDTO;
+        });
+    }
+
+    /**
+     * A subscriber starts out replaying from the database and switches to its queue once a read comes back short.
+     * Changes published meanwhile are queued as well; if the queue overflows during the replay it is cleared and
+     * the replay reads again, since everything offered is already committed.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeDTO> pending;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private boolean replaying = true;
+        private boolean missedWhileReplaying;
+
+        Subscriber(SseEmitter emitter, long cursor, int bufferSize) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Returns {@code false} when the queue is full and the subscriber is no longer replaying.
+         */
+        synchronized boolean offer(List<ChangeDTO> changes) {
+            for (ChangeDTO change : changes) {
+                if (!pending.offer(change)) {
+                    if (!replaying) {
+                        return false;
+                    }
+                    pending.clear();
+                    missedWhileReplaying = true;
+                    return true;
+                }
+            }
+            return true;
+        }
+
+        synchronized boolean isReplaying() {
+            return replaying;
+        }
+
+        synchronized void endReplay() {
+            if (missedWhileReplaying) {
+                missedWhileReplaying = false;
+            } else {
+                replaying = false;
+            }
+        }
+
+        synchronized void resync() {
+            pending.clear();
+            replaying = true;
+        }
+
+        synchronized boolean hasPending() {
+            return replaying || !pending.isEmpty();
+        }
+    }
+}
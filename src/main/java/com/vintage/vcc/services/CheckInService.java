@@ -0,0 +1,15 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.AttendanceDTO;
+import com.vintage.vcc.model.dtos.CheckInDTO;
+
+public interface CheckInService {
+
+    CheckInDTO checkIn(Long eventId, String licensePlate);
+
+    AttendanceDTO getAttendance(Long eventId);
+
+    int flush();
+
+    void rebuildPlateDirectory();
+}
@@ -0,0 +1,259 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.checkins.Attendance;
+import com.vintage.vcc.checkins.AttendanceLedger;
+import com.vintage.vcc.checkins.CheckIn;
+import com.vintage.vcc.checkins.PlateDirectory;
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
+import com.vintage.vcc.exceptions.VehicleNotFoundException;
+import com.vintage.vcc.model.dtos.AttendanceDTO;
+import com.vintage.vcc.model.dtos.CheckInDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event-day check-ins. A scan is validated against {@link PlateDirectory} and recorded in {@link AttendanceLedger}
+ * without touching the database; a background thread writes new check-ins every {@code flush-interval} in JDBC
+ * batches of {@code flush-batch-size}.
+ */
+@Slf4j
+@Service
+public class CheckInServiceImpl implements CheckInService {
+    private static final String PLATES_QUERY = "SELECT v.license_plate, mv.member_id FROM vehicles v " +
+            "LEFT JOIN member_vehicle mv ON mv.license_plate = v.license_plate";
+    private static final String HISTORY_QUERY = "SELECT license_plate, checked_in_at FROM event_checkins WHERE event_id = ?";
+    private static final String INSERT = "INSERT INTO event_checkins (event_id, license_plate, checked_in_at) VALUES (?, ?, ?)";
+
+    private final PlateDirectory plateDirectory;
+    private final AttendanceLedger attendanceLedger;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean indexOnStartup;
+    private final Duration flushInterval;
+    private final int flushBatchSize;
+    private final Duration eventIdleTimeout;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("vcc-checkin-flusher").daemon().unstarted(runnable));
+
+    public CheckInServiceImpl(PlateDirectory plateDirectory,
+                              AttendanceLedger attendanceLedger,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              @Value("${vcc.checkins.index-on-startup:true}") boolean indexOnStartup,
+                              @Value("${vcc.checkins.flush-interval:1s}") Duration flushInterval,
+                              @Value("${vcc.checkins.flush-batch-size:1000}") int flushBatchSize,
+                              @Value("${vcc.checkins.event-idle-timeout:30m}") Duration eventIdleTimeout) {
+        this.plateDirectory = plateDirectory;
+        this.attendanceLedger = attendanceLedger;
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexOnStartup = indexOnStartup;
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+        this.eventIdleTimeout = eventIdleTimeout;
+    }
+
+    @Override
+    public CheckInDTO checkIn(Long eventId, String licensePlate) {
+        List<Long> ownerIds = plateDirectory.owners(licensePlate);
+        if (ownerIds == null) {
+            throw new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found");
+        }
+        AttendanceLedger.Recorded recorded = attendanceLedger.record(
+                new CheckIn(eventId, licensePlate, ownerIds, Instant.now()), this::loadHistory);
+
+        CheckInDTO checkInDTO = new CheckInDTO();
+        checkInDTO.setEventId(eventId);
+        checkInDTO.setLicensePlate(licensePlate);
+        checkInDTO.setOwnerIds(recorded.checkIn().ownerIds());
+        checkInDTO.setCheckedInAt(recorded.checkIn().checkedInAt());
+        checkInDTO.setDuplicate(recorded.duplicate());
+        checkInDTO.setAttendance(getAttendance(eventId));
+        return checkInDTO;
+    }
+
+    @Override
+    public AttendanceDTO getAttendance(Long eventId) {
+        Attendance attendance = attendanceLedger.attendance(eventId, this::loadHistory);
+        AttendanceDTO attendanceDTO = new AttendanceDTO();
+        attendanceDTO.setEventId(eventId);
+        attendanceDTO.setVehicles(attendance.vehicles());
+        attendanceDTO.setMembers(attendance.members());
+        return attendanceDTO;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexOnStartup) {
+            rebuildPlateDirectory();
+        }
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes what is left in the ledger before the data source closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    /**
+     * Writes every pending check-in; returns how many were written. A row the database refuses is dropped; when
+     * the write fails for any other reason, the rows not yet written are put back for the next flush.
+     */
+    @Override
+    public synchronized int flush() {
+        int written = 0;
+        List<CheckIn> batch;
+        while (!(batch = attendanceLedger.drainPending(flushBatchSize)).isEmpty()) {
+            written += insert(batch);
+        }
+        return written;
+    }
+
+    @Override
+    public void rebuildPlateDirectory() {
+        long start = System.nanoTime();
+        plateDirectory.clear();
+        Map<String, List<Long>> ownersByPlate = new HashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(PLATES_QUERY, collectOwners(ownersByPlate));
+        ownersByPlate.forEach(plateDirectory::put);
+        log.info("Plate directory rebuilt with {} vehicles in {} ms", plateDirectory.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reloads the owners of the changed vehicles; plates no longer in the table are dropped.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        if (event.licensePlates().isEmpty()) {
+            return;
+        }
+        reloadPlates(" WHERE v.license_plate IN (:licensePlates)", Map.of("licensePlates", event.licensePlates()),
+                event.licensePlates());
+    }
+
+    /**
+     * Vehicles are linked to members through member writes, so the vehicles of changed members are reloaded too.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.memberIds().isEmpty()) {
+            return;
+        }
+        reloadPlates(" WHERE v.license_plate IN (SELECT license_plate FROM member_vehicle WHERE member_id IN (:memberIds))",
+                Map.of("memberIds", event.memberIds()), Set.of());
+    }
+
+    private void reloadPlates(String where, Map<String, ?> params, Collection<String> licensePlates) {
+        Map<String, List<Long>> ownersByPlate = new HashMap<>();
+        jdbcTemplate.query(PLATES_QUERY + where, params, collectOwners(ownersByPlate));
+        ownersByPlate.forEach(plateDirectory::put);
+        licensePlates.stream()
+                .filter(licensePlate -> !ownersByPlate.containsKey(licensePlate))
+                .forEach(plateDirectory::remove);
+    }
+
+    /**
+     * Rows arrive one per vehicle and owner; a vehicle without owners comes back once with a null member id.
+     */
+    private static RowCallbackHandler collectOwners(Map<String, List<Long>> ownersByPlate) {
+        return rs -> {
+            List<Long> ownerIds = ownersByPlate.computeIfAbsent(rs.getString(1), unused -> new ArrayList<>());
+            long memberId = rs.getLong(2);
+            if (!rs.wasNull()) {
+                ownerIds.add(memberId);
+            }
+        };
+    }
+
+    private Collection<CheckIn> loadHistory(long eventId) {
+        return jdbcTemplate.getJdbcTemplate().query(HISTORY_QUERY, (rs, rowNum) -> {
+            String licensePlate = rs.getString(1);
+            List<Long> ownerIds = plateDirectory.owners(licensePlate);
+            return new CheckIn(eventId, licensePlate, ownerIds == null ? List.of() : ownerIds, rs.getTimestamp(2).toInstant());
+        }, eventId);
+    }
+
+    private int insert(List<CheckIn> batch) {
+        try {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT, batch.stream().map(CheckInServiceImpl::row).toList());
+        } catch (DataIntegrityViolationException e) {
+            // Another node flushed some of these plates first, or a row breaks a constraint; write them one by one.
+            return insertEach(batch);
+        } catch (RuntimeException e) {
+            attendanceLedger.requeue(batch);
+            throw e;
+        }
+        attendanceLedger.flushed(batch);
+        return batch.size();
+    }
+
+    private int insertEach(List<CheckIn> batch) {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        int written = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            CheckIn checkIn = batch.get(i);
+            try {
+                written += jdbc.update(INSERT, row(checkIn));
+            } catch (DuplicateKeyException duplicate) {
+                log.debug("Check-in of {} at event {} already written", checkIn.licensePlate(), checkIn.eventId());
+            } catch (DataIntegrityViolationException refused) {
+                // Retrying cannot change the outcome, so the row is dropped rather than blocking the queue.
+                log.warn("Dropping check-in of {} at event {}: {}", checkIn.licensePlate(), checkIn.eventId(),
+                        refused.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                attendanceLedger.flushed(batch.subList(0, i));
+                attendanceLedger.requeue(batch.subList(i, batch.size()));
+                throw e;
+            }
+        }
+        attendanceLedger.flushed(batch);
+        return written;
+    }
+
+    private static Object[] row(CheckIn checkIn) {
+        return new Object[]{checkIn.eventId(), checkIn.licensePlate(), Timestamp.from(checkIn.checkedInAt())};
+    }
+
+    private void flushQuietly() {
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("Flushed {} check-ins", written);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Flushing check-ins failed, retrying in {} ms", flushInterval.toMillis(), e);
+        }
+        int evicted = attendanceLedger.evictIdle(eventIdleTimeout);
+        if (evicted > 0) {
+            log.debug("Evicted {} idle events", evicted);
+        }
+    }
+}
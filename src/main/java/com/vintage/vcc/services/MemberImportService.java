@@ -0,0 +1,12 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.MemberImportReportDTO;
+
+import java.io.InputStream;
+
+public interface MemberImportService {
+
+    MemberImportReportDTO importMembersFromJson(InputStream inputStream, Integer batchSize, boolean errorsOnly);
+
+    MemberImportReportDTO importMembersFromCsv(InputStream inputStream, Integer batchSize, boolean errorsOnly);
+}
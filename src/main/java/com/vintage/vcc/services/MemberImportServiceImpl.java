@@ -0,0 +1,181 @@
+package com.vintage.vcc.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.imports.MemberCsvReader;
+import com.vintage.vcc.imports.MemberImportRow;
+import com.vintage.vcc.imports.MemberJsonArrayReader;
+import com.vintage.vcc.mappers.EntityMapper;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.MemberImportReportDTO;
+import com.vintage.vcc.model.dtos.MemberImportRowResultDTO;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.repositories.MemberRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class MemberImportServiceImpl implements MemberImportService {
+    private final MemberRepository memberRepository;
+    private final EntityMapper entityMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int defaultBatchSize;
+
+    public MemberImportServiceImpl(MemberRepository memberRepository,
+                                   EntityMapper entityMapper,
+                                   EntityManager entityManager,
+                                   TransactionTemplate transactionTemplate,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${vcc.import.batch-size:500}") int defaultBatchSize) {
+        this.memberRepository = memberRepository;
+        this.entityMapper = entityMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    @Override
+    public MemberImportReportDTO importMembersFromJson(InputStream inputStream, Integer batchSize, boolean errorsOnly) {
+        return importMembers(new MemberJsonArrayReader(objectMapper, inputStream), batchSize, errorsOnly);
+    }
+
+    @Override
+    public MemberImportReportDTO importMembersFromCsv(InputStream inputStream, Integer batchSize, boolean errorsOnly) {
+        return importMembers(new MemberCsvReader(inputStream), batchSize, errorsOnly);
+    }
+
+    private MemberImportReportDTO importMembers(Iterator<MemberImportRow> rows, Integer batchSize, boolean errorsOnly) {
+        int chunkSize = batchSize != null ? batchSize : defaultBatchSize;
+        MemberImportReportDTO report = new MemberImportReportDTO();
+        List<MemberImportRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, chunkSize, report, errorsOnly);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, chunkSize, report, errorsOnly);
+        }
+        log.info("Member import finished: {} imported, {} rejected", report.getImportedRows(), report.getRejectedRows());
+        return report;
+    }
+
+    private void importChunk(List<MemberImportRow> chunk, int batchSize, MemberImportReportDTO report, boolean errorsOnly) {
+        MemberImportRowResultDTO[] results = new MemberImportRowResultDTO[chunk.size()];
+        Map<String, Integer> candidatesByEmail = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            MemberImportRow row = chunk.get(i);
+            List<String> errors = validate(row);
+            if (errors.isEmpty() && candidatesByEmail.putIfAbsent(row.member().getEmail(), i) != null) {
+                errors = List.of("Email " + row.member().getEmail() + " appears more than once in this import");
+            }
+            if (!errors.isEmpty()) {
+                results[i] = rejected(row.rowNumber(), errors);
+            }
+        }
+
+        if (!candidatesByEmail.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistChunk(chunk, candidatesByEmail, batchSize, results));
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                log.warn("Member import batch starting at row {} failed", chunk.get(0).rowNumber(), e);
+                for (int i : candidatesByEmail.values()) {
+                    results[i] = rejected(chunk.get(i).rowNumber(), List.of("Batch insert failed: " + e.getMessage()));
+                }
+            }
+        }
+
+        for (MemberImportRowResultDTO result : results) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            if (result.getStatus() == MemberImportRowResultDTO.Status.IMPORTED) {
+                report.setImportedRows(report.getImportedRows() + 1);
+            } else {
+                report.setRejectedRows(report.getRejectedRows() + 1);
+            }
+            if (!errorsOnly || result.getStatus() == MemberImportRowResultDTO.Status.REJECTED) {
+                report.getRows().add(result);
+            }
+        }
+    }
+
+    private void persistChunk(List<MemberImportRow> chunk, Map<String, Integer> candidatesByEmail, int batchSize,
+                              MemberImportRowResultDTO[] results) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        Set<String> existingEmails = memberRepository.findExistingEmails(candidatesByEmail.keySet());
+
+        Map<Integer, Member> persisted = new HashMap<>();
+        for (Map.Entry<String, Integer> candidate : candidatesByEmail.entrySet()) {
+            int i = candidate.getValue();
+            if (existingEmails.contains(candidate.getKey())) {
+                results[i] = rejected(chunk.get(i).rowNumber(), List.of("Member with email " + candidate.getKey() + " already exists"));
+                continue;
+            }
+            Member member = entityMapper.toMember(chunk.get(i).member());
+            entityManager.persist(member);
+            persisted.put(i, member);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (!persisted.isEmpty()) {
+            eventPublisher.publishEvent(new MemberChangedEvent(persisted.values().stream().map(Member::getMemberId).toList()));
+        }
+
+        persisted.forEach((i, member) -> {
+            MemberImportRowResultDTO result = new MemberImportRowResultDTO();
+            result.setRow(chunk.get(i).rowNumber());
+            result.setStatus(MemberImportRowResultDTO.Status.IMPORTED);
+            result.setMemberId(member.getMemberId());
+            results[i] = result;
+        });
+    }
+
+    private List<String> validate(MemberImportRow row) {
+        if (row.parseError() != null) {
+            return List.of(row.parseError());
+        }
+        Set<ConstraintViolation<MemberDTO>> violations = validator.validate(row.member());
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private MemberImportRowResultDTO rejected(int rowNumber, List<String> errors) {
+        MemberImportRowResultDTO result = new MemberImportRowResultDTO();
+        result.setRow(rowNumber);
+        result.setStatus(MemberImportRowResultDTO.Status.REJECTED);
+        result.setErrors(errors);
+        return result;
+    }
+}
@@ -1,8 +1,13 @@
 package com.vintage.vcc.services;
 
 import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.MemberPageDTO;
+import com.vintage.vcc.model.dtos.MemberPatchDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentReportDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MemberService {
 
@@ -10,11 +15,21 @@ public interface MemberService {
 
     List<MemberDTO> getAllMembers();
 
-    MemberDTO updateMemberById(Long id, MemberDTO memberDTO);
+    MemberPageDTO getMembersPage(Long after, int limit);
+
+    void streamAllMembers(Consumer<MemberDTO> consumer);
+
+    MemberDTO updateMemberById(Long id, MemberPatchDTO memberPatchDTO);
 
     MemberDTO deleteMemberById(Long id);
 
     MemberDTO getMemberById(Long id);
 
+    ResourceVersion getMemberVersion(Long id);
+
+    ResourceVersion getAllMembersVersion();
+
     void assignVehicleToMember(Long id, String licensePlate);
+
+    VehicleAssignmentReportDTO assignVehiclesToMembers(List<VehicleAssignmentDTO> assignments);
 }
\ No newline at end of file
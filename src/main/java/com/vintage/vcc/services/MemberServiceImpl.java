@@ -1,132 +1,302 @@
 package com.vintage.vcc.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.config.CacheConfig;
+import com.vintage.vcc.config.MetricsConfig;
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.MemberCreatedEvent;
+import com.vintage.vcc.events.VehicleAssignedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
 import com.vintage.vcc.exceptions.MemberNotFoundException;
+import com.vintage.vcc.exceptions.VehicleNotFoundException;
+import com.vintage.vcc.mappers.EntityMapper;
 import com.vintage.vcc.model.dtos.MemberDTO;
-import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.MemberPageDTO;
+import com.vintage.vcc.model.dtos.MemberPatchDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentReportDTO;
 import com.vintage.vcc.model.entities.Member;
 import com.vintage.vcc.model.entities.Vehicle;
 import com.vintage.vcc.repositories.MemberRepository;
 import com.vintage.vcc.repositories.VehicleRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     @Autowired
     private final VehicleRepository vehicleRepository;
 
-    private final ObjectMapper objectMapper;
+    private final EntityMapper entityMapper;
     private final VehicleService vehicleService;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
 
     public MemberServiceImpl(MemberRepository memberRepository,
                              VehicleRepository vehicleRepository,
-                             ObjectMapper objectMapper,
-                             VehicleService vehicleService) {
+                             EntityMapper entityMapper,
+                             VehicleService vehicleService,
+                             EntityManager entityManager,
+                             JdbcTemplate jdbcTemplate,
+                             CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${vcc.import.batch-size:500}") int batchSize) {
         this.memberRepository = memberRepository;
         this.vehicleRepository = vehicleRepository;
-        this.objectMapper = objectMapper;
+        this.entityMapper = entityMapper;
         this.vehicleService = vehicleService;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
     }
 
     @Override
+    @Transactional
     public MemberDTO createMember(MemberDTO memberDTO) {
-        Member memberEntity = objectMapper.convertValue(memberDTO, Member.class);
+        Member memberEntity = entityMapper.toMember(memberDTO);
         Member memberResponseEntity = memberRepository.save(memberEntity);
         log.info("Member with id: {} was created", memberResponseEntity.getMemberId());
+        eventPublisher.publishEvent(MemberChangedEvent.of(memberResponseEntity.getMemberId()));
+        eventPublisher.publishEvent(new MemberCreatedEvent(memberResponseEntity.getMemberId(), memberResponseEntity.getEmail(),
+                memberResponseEntity.getFirstName(), memberResponseEntity.getCity()));
 
-        return objectMapper.convertValue(memberResponseEntity, MemberDTO.class);
+        return entityMapper.toMemberDTO(memberResponseEntity, EntityMapper.WITH_LINKED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MemberDTO getMemberById(Long id) {
-        return memberRepository.findById(id)
-                .map(memberEntity -> objectMapper.convertValue(memberEntity, MemberDTO.class))
+        return memberRepository.findWithVehiclesByMemberId(id)
+                .map(memberEntity -> entityMapper.toMemberDTO(memberEntity, EntityMapper.WITH_LINKED))
                 .orElseThrow(() -> new MemberNotFoundException("Member with id: " + id + " not found"));
     }
 
     @Override
-    public MemberDTO updateMemberById(Long id, MemberDTO memberDTO) {
-        return memberRepository.findById(id)
-                .map(existingMember -> {
-                    memberDTO.setMemberId(id);
-                    Member updatedMemberEntity = objectMapper.convertValue(memberDTO, Member.class);
-                    Member memberResponseEntity = memberRepository.save(updatedMemberEntity);
-                    log.info("Member with id: {} was updated", memberResponseEntity.getMemberId());
-                    return objectMapper.convertValue(memberResponseEntity, MemberDTO.class);
-                })
+    @Transactional(readOnly = true)
+    public ResourceVersion getMemberVersion(Long id) {
+        List<Object[]> versions = memberRepository.findVersionsByMemberId(id);
+        if (versions.isEmpty()) {
+            throw new MemberNotFoundException("Member with id: " + id + " not found");
+        }
+        // One row per vehicle, each repeating the member's own version and modification time.
+        StringBuilder versionKey = new StringBuilder("member:").append(id).append(':').append(versions.get(0)[0]);
+        Instant lastModified = (Instant) versions.get(0)[1];
+        for (Object[] row : versions) {
+            if (row[2] != null) {
+                versionKey.append('|').append(row[2]).append(':').append(row[3]);
+                Instant vehicleLastModified = (Instant) row[4];
+                if (vehicleLastModified.isAfter(lastModified)) {
+                    lastModified = vehicleLastModified;
+                }
+            }
+        }
+        return ResourceVersion.of(versionKey.toString(), lastModified);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllMembersVersion() {
+        return ResourceVersion.ofRoster("members", memberRepository.summarizeRosterVersions());
+    }
+
+    @Override
+    @Transactional
+    public MemberDTO updateMemberById(Long id, MemberPatchDTO memberPatchDTO) {
+        int updated = memberRepository.patchByMemberId(id, memberPatchDTO.getVersion(),
+                memberPatchDTO.getFirstName(), memberPatchDTO.getLastName(), memberPatchDTO.getEmail(),
+                memberPatchDTO.getGender(), memberPatchDTO.getCity(), Instant.now());
+        if (updated == 0) {
+            if (!memberRepository.existsById(id)) {
+                throw new MemberNotFoundException("Member with id: " + id + " not found");
+            }
+            throw new OptimisticLockingFailureException("Member with id: " + id + " was modified since version " + memberPatchDTO.getVersion());
+        }
+        log.info("Member with id: {} was updated", id);
+        eventPublisher.publishEvent(MemberChangedEvent.of(id));
+        return memberRepository.findWithVehiclesByMemberId(id)
+                .map(memberEntity -> entityMapper.toMemberDTO(memberEntity, EntityMapper.WITH_LINKED))
                 .orElseThrow(() -> new MemberNotFoundException("Member with id: " + id + " not found"));
     }
 
     @Override
+    @Transactional
     public MemberDTO deleteMemberById(Long id) {
-        return memberRepository.findById(id)
+        return memberRepository.findWithVehiclesByMemberId(id)
                 .map(memberEntity -> {
-                    MemberDTO memberDTO = objectMapper.convertValue(memberEntity, MemberDTO.class);
+                    MemberDTO memberDTO = entityMapper.toMemberDTO(memberEntity, EntityMapper.WITH_LINKED);
                     memberRepository.deleteById(id);
+                    SecondLevelCaches.evictLinksAfterCommit(entityManager, List.of(),
+                            memberEntity.getVehicles().stream().map(Vehicle::getLicensePlate).toList(), false);
                     log.info("Member with id: {} was deleted", id);
+                    eventPublisher.publishEvent(MemberChangedEvent.of(id));
+                    if (!memberEntity.getVehicles().isEmpty()) {
+                        eventPublisher.publishEvent(new VehicleChangedEvent(memberEntity.getVehicles().stream()
+                                .map(Vehicle::getLicensePlate)
+                                .toList()));
+                    }
                     return memberDTO;
                 })
                 .orElseThrow(() -> new MemberNotFoundException("Member with id: " + id + " not found"));
     }
 
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate")
     public void assignVehicleToMember(Long id, String licensePlate) {
         Member memberEntity = memberRepository.findById(id)
                 .orElseThrow(() -> new MemberNotFoundException("Member not found"));
         Vehicle vehicleEntity = vehicleRepository.findByLicensePlate(licensePlate);
+        if (memberEntity.getVehicles().contains(vehicleEntity)) {
+            // Already linked: the member_vehicle key would reject a second row.
+            return;
+        }
         memberEntity.getVehicles().add(vehicleEntity);
         vehicleEntity.getOwners().add(memberEntity);
 
         memberRepository.save(memberEntity);
         vehicleRepository.save(vehicleEntity);
+        eventPublisher.publishEvent(MemberChangedEvent.of(id));
+        // The vehicle's owners change too, and vehicle listings nest them.
+        eventPublisher.publishEvent(VehicleChangedEvent.of(licensePlate));
+        eventPublisher.publishEvent(new VehicleAssignedEvent(id, memberEntity.getEmail(), memberEntity.getFirstName(),
+                licensePlate, vehicleEntity.getMake(), vehicleEntity.getModel(), vehicleEntity.getYear()));
     }
 
-    public List<MemberDTO> getAllMembers() {
-        return memberRepository.findAll(Sort.by("memberId"))
-                .stream()
-                .map(this::mapMemberToDTOWithVehicles)
+    @Override
+    @Transactional
+    public VehicleAssignmentReportDTO assignVehiclesToMembers(List<VehicleAssignmentDTO> assignments) {
+        Set<VehicleAssignmentDTO> distinctAssignments = new LinkedHashSet<>(assignments);
+        Set<Long> memberIds = distinctAssignments.stream().map(VehicleAssignmentDTO::getMemberId).collect(Collectors.toSet());
+        Set<String> licensePlates = distinctAssignments.stream().map(VehicleAssignmentDTO::getLicensePlate).collect(Collectors.toSet());
+
+        Set<Long> missingMemberIds = new TreeSet<>(memberIds);
+        missingMemberIds.removeAll(memberRepository.findExistingMemberIds(memberIds));
+        if (!missingMemberIds.isEmpty()) {
+            throw new MemberNotFoundException("Members not found: " + missingMemberIds);
+        }
+        Set<String> missingLicensePlates = new TreeSet<>(licensePlates);
+        missingLicensePlates.removeAll(vehicleRepository.findExistingLicensePlates(licensePlates));
+        if (!missingLicensePlates.isEmpty()) {
+            throw new VehicleNotFoundException("Vehicles not found: " + missingLicensePlates);
+        }
+
+        Set<Map.Entry<Long, String>> existingLinks = new HashSet<>();
+        for (Object[] link : memberRepository.findVehicleLinks(memberIds, licensePlates)) {
+            existingLinks.add(Map.entry((Long) link[0], (String) link[1]));
+        }
+        List<VehicleAssignmentDTO> newAssignments = distinctAssignments.stream()
+                .filter(assignment -> !existingLinks.contains(Map.entry(assignment.getMemberId(), assignment.getLicensePlate())))
                 .toList();
-    }
 
-    private MemberDTO mapMemberToDTOWithVehicles(Member member) {
-        MemberDTO memberDTO = mapMemberToDTO(member);
+        // The join table has no entity of its own, so the links are written directly instead of
+        // loading and saving both sides of every pair.
+        jdbcTemplate.batchUpdate("INSERT INTO member_vehicle (member_id, license_plate) VALUES (?, ?)",
+                newAssignments, batchSize, (ps, assignment) -> {
+                    ps.setLong(1, assignment.getMemberId());
+                    ps.setString(2, assignment.getLicensePlate());
+                });
+
+        Set<Long> assignedMemberIds = newAssignments.stream().map(VehicleAssignmentDTO::getMemberId).collect(Collectors.toSet());
+        if (!assignedMemberIds.isEmpty()) {
+            // The JDBC insert leaves the members untouched, so their version is bumped to change their ETags.
+            memberRepository.touchByMemberIdIn(assignedMemberIds, Instant.now());
+        }
+
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE));
+        newAssignments.forEach(assignment -> cache.evict(assignment.getLicensePlate()));
+        SecondLevelCaches.evictLinksAfterCommit(entityManager,
+                assignedMemberIds,
+                newAssignments.stream().map(VehicleAssignmentDTO::getLicensePlate).collect(Collectors.toSet()),
+                true);
+        log.info("{} vehicles were assigned to members", newAssignments.size());
+        if (!newAssignments.isEmpty()) {
+            eventPublisher.publishEvent(new MemberChangedEvent(newAssignments.stream()
+                    .map(VehicleAssignmentDTO::getMemberId)
+                    .toList()));
+            eventPublisher.publishEvent(new VehicleChangedEvent(newAssignments.stream()
+                    .map(VehicleAssignmentDTO::getLicensePlate)
+                    .toList()));
+        }
 
-        List<VehicleDTO> vehicleDTOs = mapVehiclesToDTOs(member.getVehicles());
-        memberDTO.setVehicles(vehicleDTOs);
-        return memberDTO;
+        VehicleAssignmentReportDTO report = new VehicleAssignmentReportDTO();
+        report.setRequested(assignments.size());
+        report.setAssigned(newAssignments.size());
+        report.setAlreadyAssigned(distinctAssignments.size() - newAssignments.size());
+        return report;
     }
 
-    private MemberDTO mapMemberToDTO(Member member) {
-        MemberDTO memberDTO = new MemberDTO();
-        memberDTO.setMemberId(member.getMemberId());
-        memberDTO.setFirstName(member.getFirstName());
-        memberDTO.setLastName(member.getLastName());
-        memberDTO.setEmail(member.getEmail());
-        memberDTO.setGender(member.getGender());
-        memberDTO.setCity(member.getCity());
-        return memberDTO;
+    @Override
+    @Transactional(readOnly = true)
+    public List<MemberDTO> getAllMembers() {
+        return memberRepository.findAllWithVehicles(Sort.by("memberId"))
+                .stream()
+                .map(member -> entityMapper.toMemberDTO(member, EntityMapper.WITH_LINKED))
+                .toList();
     }
 
-    private List<VehicleDTO> mapVehiclesToDTOs(List<Vehicle> vehicles) {
-        return vehicles.stream()
-                .map(this::mapVehicleToDTO)
+    @Override
+    @Transactional(readOnly = true)
+    public MemberPageDTO getMembersPage(Long after, int limit) {
+        // Fetch one extra id so we know whether another page exists without a count query.
+        List<Long> memberIds = memberRepository.findPageIdsAfter(after, PageRequest.of(0, limit + 1));
+        boolean hasMore = memberIds.size() > limit;
+        List<Long> pageIds = hasMore ? memberIds.subList(0, limit) : memberIds;
+        List<MemberDTO> memberDTOs = pageIds.isEmpty() ? List.of() : memberRepository.findAllWithVehiclesByMemberIdIn(pageIds)
+                .stream()
+                .map(member -> entityMapper.toMemberDTO(member, EntityMapper.WITH_LINKED))
                 .toList();
+
+        MemberPageDTO memberPageDTO = new MemberPageDTO();
+        memberPageDTO.setMembers(memberDTOs);
+        memberPageDTO.setLimit(limit);
+        memberPageDTO.setHasMore(hasMore);
+        memberPageDTO.setNextAfter(hasMore ? memberDTOs.get(memberDTOs.size() - 1).getMemberId() : null);
+        return memberPageDTO;
     }
 
-    private VehicleDTO mapVehicleToDTO(Vehicle vehicle) {
-        VehicleDTO vehicleDTO = new VehicleDTO();
-        vehicleDTO.setLicensePlate(vehicle.getLicensePlate());
-        vehicleDTO.setMake(vehicle.getMake());
-        vehicleDTO.setModel(vehicle.getModel());
-        vehicleDTO.setYear(vehicle.getYear());
-        return vehicleDTO;
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllMembers(Consumer<MemberDTO> consumer) {
+        try (Stream<Member> members = memberRepository.streamAllWithVehicles()) {
+            members.forEach(member -> {
+                consumer.accept(entityMapper.toMemberDTO(member, EntityMapper.WITH_LINKED));
+                // Detaching does not cascade to the fetched vehicles, so they are let go of one by one
+                member.getVehicles().forEach(entityManager::detach);
+                entityManager.detach(member);
+            });
+        }
     }
 }
\ No newline at end of file
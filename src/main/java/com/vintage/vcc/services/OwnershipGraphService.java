@@ -0,0 +1,17 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.CoOwnerDTO;
+import com.vintage.vcc.model.dtos.OwnershipComponentDTO;
+
+import java.util.List;
+
+public interface OwnershipGraphService {
+
+    List<CoOwnerDTO> getCoOwners(Long memberId);
+
+    OwnershipComponentDTO getComponent(Long memberId);
+
+    List<OwnershipComponentDTO> getClusters(String city, int minMembers, int limit);
+
+    void rebuildGraph();
+}
@@ -0,0 +1,160 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
+import com.vintage.vcc.exceptions.MemberNotFoundException;
+import com.vintage.vcc.graph.OwnershipComponent;
+import com.vintage.vcc.graph.OwnershipGraph;
+import com.vintage.vcc.model.dtos.CoOwnerDTO;
+import com.vintage.vcc.model.dtos.OwnershipComponentDTO;
+import com.vintage.vcc.repositories.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class OwnershipGraphServiceImpl implements OwnershipGraphService {
+    private static final String LINKS_QUERY = "SELECT mv.member_id, m.city, mv.license_plate FROM member_vehicle mv " +
+            "JOIN members m ON m.member_id = mv.member_id";
+
+    private final OwnershipGraph ownershipGraph;
+    private final MemberRepository memberRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean indexOnStartup;
+
+    public OwnershipGraphServiceImpl(OwnershipGraph ownershipGraph,
+                                     MemberRepository memberRepository,
+                                     NamedParameterJdbcTemplate jdbcTemplate,
+                                     @Value("${vcc.ownership.index-on-startup:true}") boolean indexOnStartup) {
+        this.ownershipGraph = ownershipGraph;
+        this.memberRepository = memberRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexOnStartup = indexOnStartup;
+    }
+
+    @Override
+    public List<CoOwnerDTO> getCoOwners(Long memberId) {
+        if (!ownershipGraph.containsMember(memberId)) {
+            requireMember(memberId);
+            return List.of();
+        }
+        return ownershipGraph.coOwners(memberId).stream()
+                .map(coOwner -> {
+                    CoOwnerDTO coOwnerDTO = new CoOwnerDTO();
+                    coOwnerDTO.setMemberId(coOwner.memberId());
+                    coOwnerDTO.setSharedVehicles(coOwner.sharedVehicles());
+                    return coOwnerDTO;
+                })
+                .toList();
+    }
+
+    @Override
+    public OwnershipComponentDTO getComponent(Long memberId) {
+        OwnershipComponent component = ownershipGraph.component(memberId);
+        if (component == null) {
+            requireMember(memberId);
+            component = new OwnershipComponent(List.of(memberId), List.of());
+        }
+        return toComponentDTO(component);
+    }
+
+    @Override
+    public List<OwnershipComponentDTO> getClusters(String city, int minMembers, int limit) {
+        return ownershipGraph.clusters(city, minMembers, limit).stream()
+                .map(OwnershipGraphServiceImpl::toComponentDTO)
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexOnStartup) {
+            rebuildGraph();
+        }
+    }
+
+    @Override
+    public void rebuildGraph() {
+        long start = System.nanoTime();
+        ownershipGraph.clear();
+        // Rows arrive grouped by member, so each member's links are added in one call.
+        List<String> licensePlates = new ArrayList<>();
+        long[] currentMemberId = {-1};
+        String[] currentCity = {null};
+        jdbcTemplate.getJdbcTemplate().query(LINKS_QUERY + " ORDER BY mv.member_id", rs -> {
+            long memberId = rs.getLong(1);
+            if (memberId != currentMemberId[0] && !licensePlates.isEmpty()) {
+                ownershipGraph.setMemberLinks(currentMemberId[0], currentCity[0], licensePlates);
+                licensePlates.clear();
+            }
+            currentMemberId[0] = memberId;
+            currentCity[0] = rs.getString(2);
+            licensePlates.add(rs.getString(3));
+        });
+        if (!licensePlates.isEmpty()) {
+            ownershipGraph.setMemberLinks(currentMemberId[0], currentCity[0], licensePlates);
+        }
+        log.info("Ownership graph rebuilt with {} members and {} vehicles in {} ms", ownershipGraph.memberCount(),
+                ownershipGraph.vehicleCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reloads the links of the changed members from {@code member_vehicle}; a member without rows left, deleted or
+     * not, drops out of the graph.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.memberIds().isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> licensePlatesByMember = new HashMap<>();
+        Map<Long, String> cities = new HashMap<>();
+        jdbcTemplate.query(LINKS_QUERY + " WHERE mv.member_id IN (:memberIds)", Map.of("memberIds", event.memberIds()), rs -> {
+            long memberId = rs.getLong(1);
+            cities.put(memberId, rs.getString(2));
+            licensePlatesByMember.computeIfAbsent(memberId, unused -> new LinkedHashSet<>()).add(rs.getString(3));
+        });
+        event.memberIds().forEach(memberId -> ownershipGraph.setMemberLinks(memberId, cities.get(memberId),
+                licensePlatesByMember.getOrDefault(memberId, Set.of())));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        if (event.licensePlates().isEmpty()) {
+            return;
+        }
+        Map<String, Map<Long, String>> ownersByLicensePlate = new HashMap<>();
+        jdbcTemplate.query(LINKS_QUERY + " WHERE mv.license_plate IN (:licensePlates)",
+                Map.of("licensePlates", event.licensePlates()), rs -> {
+                    Map<Long, String> owners = ownersByLicensePlate.computeIfAbsent(rs.getString(3), unused -> new LinkedHashMap<>());
+                    owners.put(rs.getLong(1), rs.getString(2));
+                });
+        event.licensePlates().forEach(licensePlate -> ownershipGraph.setVehicleOwners(licensePlate,
+                ownersByLicensePlate.getOrDefault(licensePlate, Map.of())));
+    }
+
+    private void requireMember(Long memberId) {
+        if (!memberRepository.existsById(memberId)) {
+            throw new MemberNotFoundException("Member with id: " + memberId + " not found");
+        }
+    }
+
+    private static OwnershipComponentDTO toComponentDTO(OwnershipComponent component) {
+        OwnershipComponentDTO componentDTO = new OwnershipComponentDTO();
+        componentDTO.setMemberIds(component.memberIds());
+        componentDTO.setLicensePlates(component.licensePlates());
+        return componentDTO;
+    }
+}
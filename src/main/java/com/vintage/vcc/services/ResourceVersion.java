@@ -0,0 +1,38 @@
+package com.vintage.vcc.services;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validators for a conditional GET: an entity tag and, for single resources, the last modification time.
+ * Both are derived from entity versions, so they can be checked without building the response body.
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    static ResourceVersion of(String versionKey, Instant lastModified) {
+        return new ResourceVersion(DigestUtils.md5DigestAsHex(versionKey.getBytes(StandardCharsets.UTF_8)), lastModified);
+    }
+
+    /**
+     * Member and vehicle listings nest each other, so both change with any member, vehicle or link between them.
+     */
+    static ResourceVersion ofRoster(String listing, List<Object[]> rosterSummary) {
+        return of(listing + Arrays.toString(rosterSummary.get(0)), null);
+    }
+
+    /**
+     * The entity tag as a weak validator. It stays valid across JSON and Smile bodies and across gzip, which
+     * Tomcat does not apply to responses with a strong entity tag.
+     */
+    public String weakEtag() {
+        return "W/\"" + etag + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+}
@@ -0,0 +1,13 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.exports.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface RosterExportService {
+
+    void exportMembers(ExportFormat format, OutputStream outputStream) throws IOException;
+
+    void exportVehicles(ExportFormat format, OutputStream outputStream) throws IOException;
+}
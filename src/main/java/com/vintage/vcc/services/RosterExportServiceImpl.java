@@ -0,0 +1,112 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.exports.ExportFormat;
+import com.vintage.vcc.exports.RowWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes exports row by row from a forward-only, read-only JDBC cursor. Rows are fetched {@code fetch-size} at a
+ * time and written as they arrive, so no entity or DTO list is built and heap use does not depend on the roster
+ * size. The read-only transaction keeps the PostgreSQL driver on a server-side cursor, which it only uses with
+ * auto-commit off.
+ */
+@Slf4j
+@Service
+public class RosterExportServiceImpl implements RosterExportService {
+    private static final String[] MEMBER_COLUMNS = {"memberId", "firstName", "lastName", "email", "gender", "city",
+            "licensePlate", "make", "model", "year"};
+    private static final String MEMBERS_QUERY = "SELECT m.member_id, m.first_name, m.last_name, m.email, m.gender, m.city, " +
+            "v.license_plate, v.make, v.model, v.year FROM members m " +
+            "LEFT JOIN member_vehicle mv ON mv.member_id = m.member_id " +
+            "LEFT JOIN vehicles v ON v.license_plate = mv.license_plate " +
+            "ORDER BY m.member_id, v.license_plate";
+    private static final String[] VEHICLE_COLUMNS = {"licensePlate", "make", "model", "year", "ownerId", "ownerFirstName",
+            "ownerLastName", "ownerEmail"};
+    private static final String VEHICLES_QUERY = "SELECT v.license_plate, v.make, v.model, v.year, m.member_id, m.first_name, " +
+            "m.last_name, m.email FROM vehicles v " +
+            "LEFT JOIN member_vehicle mv ON mv.license_plate = v.license_plate " +
+            "LEFT JOIN members m ON m.member_id = mv.member_id " +
+            "ORDER BY v.license_plate, m.member_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final int flushRows;
+
+    public RosterExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                   @Value("${vcc.export.fetch-size:1000}") int fetchSize,
+                                   @Value("${vcc.export.flush-rows:1000}") int flushRows) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+        this.flushRows = flushRows;
+    }
+
+    /**
+     * One row per member and vehicle; members without vehicles get one row with empty vehicle columns.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMembers(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (RowWriter rowWriter = format.open(outputStream, "Members", flushRows)) {
+            rowWriter.writeHeader(MEMBER_COLUMNS);
+            long rows = export(MEMBERS_QUERY, rowWriter, rs -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3),
+                    rs.getString(4), rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8), rs.getString(9),
+                    rs.getObject(10) == null ? null : rs.getInt(10)});
+            log.info("Exported {} member rows as {}", rows, format);
+        }
+    }
+
+    /**
+     * One row per vehicle and owner; vehicles without owners get one row with empty owner columns.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportVehicles(ExportFormat format, OutputStream outputStream) throws IOException {
+        try (RowWriter rowWriter = format.open(outputStream, "Vehicles", flushRows)) {
+            rowWriter.writeHeader(VEHICLE_COLUMNS);
+            long rows = export(VEHICLES_QUERY, rowWriter, rs -> new Object[]{rs.getString(1), rs.getString(2), rs.getString(3),
+                    rs.getInt(4), rs.getObject(5) == null ? null : rs.getLong(5), rs.getString(6), rs.getString(7),
+                    rs.getString(8)});
+            log.info("Exported {} vehicle rows as {}", rows, format);
+        }
+    }
+
+    private long export(String query, RowWriter rowWriter, RowValues rowValues) throws IOException {
+        long[] rows = {0};
+        RowCallbackHandler writeRow = rs -> {
+            try {
+                rowWriter.writeRow(rowValues.of(rs));
+                rows[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, writeRow);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    @FunctionalInterface
+    private interface RowValues {
+        Object[] of(ResultSet rs) throws SQLException;
+    }
+}
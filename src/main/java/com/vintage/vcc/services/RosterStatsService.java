@@ -0,0 +1,20 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.GroupCountDTO;
+
+import java.util.List;
+
+public interface RosterStatsService {
+
+    List<GroupCountDTO> countMembersByCity();
+
+    List<GroupCountDTO> countMembersByGender();
+
+    List<GroupCountDTO> countVehiclesByMake();
+
+    List<GroupCountDTO> countVehiclesByModel();
+
+    List<GroupCountDTO> getVehicleYearHistogram(int bucketSize);
+
+    void rebuildSnapshot();
+}
@@ -0,0 +1,137 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.analytics.GroupCount;
+import com.vintage.vcc.analytics.RosterSnapshot;
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
+import com.vintage.vcc.model.dtos.GroupCountDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class RosterStatsServiceImpl implements RosterStatsService {
+    private static final String MEMBERS_QUERY = "SELECT member_id, city, gender FROM members";
+    private static final String VEHICLES_QUERY = "SELECT license_plate, make, model, year FROM vehicles";
+
+    private final RosterSnapshot rosterSnapshot;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean indexOnStartup;
+
+    public RosterStatsServiceImpl(RosterSnapshot rosterSnapshot,
+                                  NamedParameterJdbcTemplate jdbcTemplate,
+                                  @Value("${vcc.stats.index-on-startup:true}") boolean indexOnStartup) {
+        this.rosterSnapshot = rosterSnapshot;
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexOnStartup = indexOnStartup;
+    }
+
+    @Override
+    public List<GroupCountDTO> countMembersByCity() {
+        return toGroupCountDTOs(rosterSnapshot.countMembersByCity());
+    }
+
+    @Override
+    public List<GroupCountDTO> countMembersByGender() {
+        return toGroupCountDTOs(rosterSnapshot.countMembersByGender());
+    }
+
+    @Override
+    public List<GroupCountDTO> countVehiclesByMake() {
+        return toGroupCountDTOs(rosterSnapshot.countVehiclesByMake());
+    }
+
+    @Override
+    public List<GroupCountDTO> countVehiclesByModel() {
+        return toGroupCountDTOs(rosterSnapshot.countVehiclesByModel());
+    }
+
+    @Override
+    public List<GroupCountDTO> getVehicleYearHistogram(int bucketSize) {
+        return toGroupCountDTOs(rosterSnapshot.vehicleYearHistogram(bucketSize));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexOnStartup) {
+            rebuildSnapshot();
+        }
+    }
+
+    @Override
+    public void rebuildSnapshot() {
+        long start = System.nanoTime();
+        rosterSnapshot.clear();
+        jdbcTemplate.getJdbcTemplate().query(MEMBERS_QUERY, putMember(new HashSet<>()));
+        jdbcTemplate.getJdbcTemplate().query(VEHICLES_QUERY, putVehicle(new HashSet<>()));
+        log.info("Roster snapshot rebuilt with {} members and {} vehicles in {} ms", rosterSnapshot.memberCount(),
+                rosterSnapshot.vehicleCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reloads the changed members' rows; ids no longer in the table are removed from the snapshot.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        if (event.memberIds().isEmpty()) {
+            return;
+        }
+        Set<Long> found = new HashSet<>();
+        jdbcTemplate.query(MEMBERS_QUERY + " WHERE member_id IN (:memberIds)", Map.of("memberIds", event.memberIds()),
+                putMember(found));
+        event.memberIds().stream()
+                .filter(memberId -> !found.contains(memberId))
+                .forEach(rosterSnapshot::removeMember);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        if (event.licensePlates().isEmpty()) {
+            return;
+        }
+        Set<String> found = new HashSet<>();
+        jdbcTemplate.query(VEHICLES_QUERY + " WHERE license_plate IN (:licensePlates)",
+                Map.of("licensePlates", event.licensePlates()), putVehicle(found));
+        event.licensePlates().stream()
+                .filter(licensePlate -> !found.contains(licensePlate))
+                .forEach(rosterSnapshot::removeVehicle);
+    }
+
+    private RowCallbackHandler putMember(Set<Long> found) {
+        return rs -> {
+            long memberId = rs.getLong(1);
+            found.add(memberId);
+            rosterSnapshot.putMember(memberId, rs.getString(2), rs.getString(3).charAt(0));
+        };
+    }
+
+    private RowCallbackHandler putVehicle(Set<String> found) {
+        return rs -> {
+            String licensePlate = rs.getString(1);
+            found.add(licensePlate);
+            rosterSnapshot.putVehicle(licensePlate, rs.getString(2), rs.getString(3), rs.getInt(4));
+        };
+    }
+
+    private static List<GroupCountDTO> toGroupCountDTOs(List<GroupCount> groupCounts) {
+        return groupCounts.stream()
+                .map(groupCount -> {
+                    GroupCountDTO groupCountDTO = new GroupCountDTO();
+                    groupCountDTO.setKey(groupCount.key());
+                    groupCountDTO.setCount(groupCount.count());
+                    return groupCountDTO;
+                })
+                .toList();
+    }
+}
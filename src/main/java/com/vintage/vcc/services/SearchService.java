@@ -0,0 +1,12 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.SearchResultDTO;
+
+import java.util.List;
+
+public interface SearchService {
+
+    List<SearchResultDTO> search(String query, int limit);
+
+    void rebuildIndex();
+}
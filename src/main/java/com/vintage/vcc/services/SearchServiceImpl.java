@@ -0,0 +1,237 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
+import com.vintage.vcc.model.dtos.SearchResultDTO;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.search.SearchDocument;
+import com.vintage.vcc.search.SearchIndex;
+import com.vintage.vcc.search.SearchTerms;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class SearchServiceImpl implements SearchService {
+    static final String MEMBER = "member";
+    static final String VEHICLE = "vehicle";
+
+    private final MemberRepository memberRepository;
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean indexOnStartup;
+    private final Object rebuildLock = new Object();
+    private volatile SearchIndex searchIndex = new SearchIndex();
+    // Ids changed while a rebuild reads the database, reindexed once its index is swapped in; null between rebuilds.
+    private Set<Long> memberIdsChangedDuringRebuild;
+    private Set<String> licensePlatesChangedDuringRebuild;
+
+    public SearchServiceImpl(MemberRepository memberRepository,
+                             VehicleRepository vehicleRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${vcc.search.index-on-startup:true}") boolean indexOnStartup) {
+        this.memberRepository = memberRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Change listeners run after the publishing transaction has committed, so they need a transaction of their own.
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.indexOnStartup = indexOnStartup;
+    }
+
+    @Override
+    public List<SearchResultDTO> search(String query, int limit) {
+        return searchIndex.search(query, limit).stream()
+                .map(hit -> {
+                    SearchResultDTO searchResultDTO = new SearchResultDTO();
+                    searchResultDTO.setType(hit.document().type());
+                    searchResultDTO.setId(hit.document().id());
+                    searchResultDTO.setTitle(hit.document().title());
+                    searchResultDTO.setSubtitle(hit.document().subtitle());
+                    searchResultDTO.setScore(hit.score());
+                    return searchResultDTO;
+                })
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (indexOnStartup) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Builds a new index from the database while searches keep using the current one, then swaps it in. Changes
+     * committed during the build may have been read before they committed, so they are reindexed on the new index
+     * right after the swap.
+     */
+    @Override
+    public synchronized void rebuildIndex() {
+        long start = System.nanoTime();
+        synchronized (rebuildLock) {
+            memberIdsChangedDuringRebuild = new HashSet<>();
+            licensePlatesChangedDuringRebuild = new HashSet<>();
+        }
+        SearchIndex rebuilt = new SearchIndex();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Member> members = memberRepository.streamAllWithVehicles()) {
+                    members.forEach(member -> {
+                        indexMember(rebuilt, member);
+                        member.getVehicles().forEach(entityManager::detach);
+                        entityManager.detach(member);
+                    });
+                }
+                try (Stream<Vehicle> vehicles = vehicleRepository.streamAllWithOwners()) {
+                    vehicles.forEach(vehicle -> {
+                        indexVehicle(rebuilt, vehicle);
+                        vehicle.getOwners().forEach(entityManager::detach);
+                        entityManager.detach(vehicle);
+                    });
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (rebuildLock) {
+                memberIdsChangedDuringRebuild = null;
+                licensePlatesChangedDuringRebuild = null;
+            }
+            throw e;
+        }
+        Set<Long> changedMemberIds;
+        Set<String> changedLicensePlates;
+        synchronized (rebuildLock) {
+            searchIndex = rebuilt;
+            changedMemberIds = memberIdsChangedDuringRebuild;
+            changedLicensePlates = licensePlatesChangedDuringRebuild;
+            memberIdsChangedDuringRebuild = null;
+            licensePlatesChangedDuringRebuild = null;
+        }
+        if (!changedMemberIds.isEmpty() || !changedLicensePlates.isEmpty()) {
+            reindex(changedMemberIds, changedLicensePlates);
+        }
+        log.info("Search index rebuilt with {} documents in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMemberChanged(MemberChangedEvent event) {
+        reindex(event.memberIds(), Set.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        reindex(Set.of(), event.licensePlates());
+    }
+
+    /**
+     * Member documents carry their vehicles' terms and vehicle documents their owners' terms, so a change on
+     * either side also refreshes the documents directly linked to it.
+     */
+    private void reindex(Collection<Long> changedMemberIds, Collection<String> changedLicensePlates) {
+        SearchIndex index;
+        synchronized (rebuildLock) {
+            if (memberIdsChangedDuringRebuild != null) {
+                memberIdsChangedDuringRebuild.addAll(changedMemberIds);
+                licensePlatesChangedDuringRebuild.addAll(changedLicensePlates);
+            }
+            index = searchIndex;
+        }
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Set<Long> memberIds = new HashSet<>(changedMemberIds);
+            Set<String> licensePlates = new HashSet<>(changedLicensePlates);
+
+            Map<String, Vehicle> vehicles = new HashMap<>();
+            if (!licensePlates.isEmpty()) {
+                vehicleRepository.findAllWithOwnersByLicensePlateIn(licensePlates)
+                        .forEach(vehicle -> vehicles.put(vehicle.getLicensePlate(), vehicle));
+                vehicles.values().forEach(vehicle -> vehicle.getOwners().forEach(owner -> memberIds.add(owner.getMemberId())));
+            }
+            Map<Long, Member> members = memberIds.isEmpty() ? Map.of() : memberRepository.findAllWithVehiclesByMemberIdIn(memberIds)
+                    .stream()
+                    .collect(Collectors.toMap(Member::getMemberId, member -> member));
+            Set<String> linkedLicensePlates = members.values().stream()
+                    .flatMap(member -> member.getVehicles().stream())
+                    .map(Vehicle::getLicensePlate)
+                    .filter(licensePlate -> !vehicles.containsKey(licensePlate))
+                    .collect(Collectors.toSet());
+            if (!linkedLicensePlates.isEmpty()) {
+                vehicleRepository.findAllWithOwnersByLicensePlateIn(linkedLicensePlates)
+                        .forEach(vehicle -> vehicles.put(vehicle.getLicensePlate(), vehicle));
+                licensePlates.addAll(linkedLicensePlates);
+            }
+
+            memberIds.forEach(memberId -> {
+                Member member = members.get(memberId);
+                if (member == null) {
+                    index.remove(MEMBER, String.valueOf(memberId));
+                } else {
+                    indexMember(index, member);
+                }
+            });
+            licensePlates.forEach(licensePlate -> {
+                Vehicle vehicle = vehicles.get(licensePlate);
+                if (vehicle == null) {
+                    index.remove(VEHICLE, licensePlate);
+                } else {
+                    indexVehicle(index, vehicle);
+                }
+            });
+        });
+    }
+
+    private static void indexMember(SearchIndex index, Member member) {
+        SearchTerms terms = new SearchTerms()
+                .add(member.getFirstName(), 3f)
+                .add(member.getLastName(), 3f)
+                .add(member.getEmail(), 1f)
+                .addCompact(member.getEmail(), 3f)
+                .add(member.getCity(), 1.5f);
+        for (Vehicle vehicle : member.getVehicles()) {
+            terms.add(vehicle.getMake(), 1f)
+                    .add(vehicle.getModel(), 1f)
+                    .addCompact(vehicle.getLicensePlate(), 1f);
+        }
+        String name = member.getFirstName() + " " + member.getLastName();
+        index.put(new SearchDocument(MEMBER, String.valueOf(member.getMemberId()), name,
+                member.getEmail() + ", " + member.getCity()), terms.weights());
+    }
+
+    private static void indexVehicle(SearchIndex index, Vehicle vehicle) {
+        SearchTerms terms = new SearchTerms()
+                .add(vehicle.getLicensePlate(), 2f)
+                .addCompact(vehicle.getLicensePlate(), 3f)
+                .add(vehicle.getMake(), 3f)
+                .add(vehicle.getModel(), 3f)
+                .add(String.valueOf(vehicle.getYear()), 1f);
+        for (Member owner : vehicle.getOwners()) {
+            terms.add(owner.getFirstName(), 1f)
+                    .add(owner.getLastName(), 1f)
+                    .add(owner.getCity(), 1.5f);
+        }
+        String title = vehicle.getMake() + " " + vehicle.getModel() + " (" + vehicle.getYear() + ")";
+        index.put(new SearchDocument(VEHICLE, vehicle.getLicensePlate(), title, vehicle.getLicensePlate()), terms.weights());
+    }
+}
@@ -0,0 +1,50 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hibernate keeps the cached {@code vehicles}/{@code owners} collections in step when the owning side is changed
+ * through the session. Links written to member_vehicle with plain JDBC, and the inverse side of a deleted member or
+ * vehicle, are evicted here instead.
+ */
+final class SecondLevelCaches {
+
+    private SecondLevelCaches() {
+    }
+
+    /**
+     * Evicts once the current transaction commits, so a concurrent read cannot cache the pre-commit links again.
+     * JDBC writes also need {@code evictQueryResults}, as Hibernate does not invalidate cached listings for them.
+     */
+    static void evictLinksAfterCommit(EntityManager entityManager, Collection<Long> memberIds,
+                                      Collection<String> licensePlates, boolean evictQueryResults) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        List<Long> memberIdsToEvict = List.copyOf(memberIds);
+        List<String> licensePlatesToEvict = List.copyOf(licensePlates);
+        Runnable evict = () -> {
+            memberIdsToEvict.forEach(memberId -> cache.evictCollectionData(Member.VEHICLES_ROLE, memberId));
+            licensePlatesToEvict.forEach(licensePlate -> cache.evictCollectionData(Vehicle.OWNERS_ROLE, licensePlate));
+            if (evictQueryResults) {
+                cache.evictDefaultQueryRegion();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,8 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.model.dtos.SyncPageDTO;
+
+public interface SyncService {
+
+    SyncPageDTO getChangesSince(long watermark, int limit);
+}
@@ -0,0 +1,112 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.changes.AggregateType;
+import com.vintage.vcc.model.dtos.ChangeDTO;
+import com.vintage.vcc.model.dtos.ChangePageDTO;
+import com.vintage.vcc.model.dtos.SyncMemberDTO;
+import com.vintage.vcc.model.dtos.SyncPageDTO;
+import com.vintage.vcc.model.dtos.SyncVehicleDTO;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Delta sync on top of the change feed. A page covers up to {@code limit} changes after the client's watermark;
+ * each member or vehicle they touch is sent once, in its current state, or as a tombstone if it no longer exists.
+ * A later change to the same row is always further along the feed, so a client applying pages in order converges
+ * on the server's state. Links travel with the member as its license plates: assigning a vehicle, and deleting a
+ * linked vehicle, are member changes too.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+    private static final String MEMBERS_QUERY = "SELECT member_id, first_name, last_name, email, gender, city, version " +
+            "FROM members WHERE member_id IN (:ids) ORDER BY member_id";
+    private static final String LINKS_QUERY = "SELECT member_id, license_plate FROM member_vehicle " +
+            "WHERE member_id IN (:ids) ORDER BY license_plate";
+    private static final String VEHICLES_QUERY = "SELECT license_plate, make, model, year, version " +
+            "FROM vehicles WHERE license_plate IN (:ids) ORDER BY license_plate";
+
+    private final ChangeFeedService changeFeedService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SyncServiceImpl(ChangeFeedService changeFeedService, NamedParameterJdbcTemplate jdbcTemplate) {
+        this.changeFeedService = changeFeedService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SyncPageDTO getChangesSince(long watermark, int limit) {
+        ChangePageDTO changePage = changeFeedService.getChanges(watermark, limit);
+        Set<Long> memberIds = new LinkedHashSet<>();
+        Set<String> licensePlates = new LinkedHashSet<>();
+        for (ChangeDTO change : changePage.getChanges()) {
+            if (change.getType() == AggregateType.MEMBER) {
+                memberIds.add(Long.valueOf(change.getId()));
+            } else {
+                licensePlates.add(change.getId());
+            }
+        }
+
+        List<SyncMemberDTO> members = findMembers(memberIds);
+        List<SyncVehicleDTO> vehicles = findVehicles(licensePlates);
+        members.forEach(member -> memberIds.remove(member.getMemberId()));
+        vehicles.forEach(vehicle -> licensePlates.remove(vehicle.getLicensePlate()));
+
+        SyncPageDTO syncPageDTO = new SyncPageDTO();
+        syncPageDTO.setMembers(members);
+        syncPageDTO.setVehicles(vehicles);
+        syncPageDTO.setDeletedMemberIds(new ArrayList<>(memberIds));
+        syncPageDTO.setDeletedLicensePlates(new ArrayList<>(licensePlates));
+        syncPageDTO.setWatermark(changePage.getNextSince());
+        syncPageDTO.setHasMore(changePage.isHasMore());
+        return syncPageDTO;
+    }
+
+    private List<SyncMemberDTO> findMembers(Set<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SyncMemberDTO> members = new LinkedHashMap<>();
+        jdbcTemplate.query(MEMBERS_QUERY, Map.of("ids", memberIds), rs -> {
+            SyncMemberDTO memberDTO = new SyncMemberDTO();
+            memberDTO.setMemberId(rs.getLong(1));
+            memberDTO.setFirstName(rs.getString(2));
+            memberDTO.setLastName(rs.getString(3));
+            memberDTO.setEmail(rs.getString(4));
+            memberDTO.setGender(rs.getString(5).charAt(0));
+            memberDTO.setCity(rs.getString(6));
+            memberDTO.setVersion(rs.getLong(7));
+            memberDTO.setLicensePlates(new ArrayList<>());
+            members.put(memberDTO.getMemberId(), memberDTO);
+        });
+        if (!members.isEmpty()) {
+            jdbcTemplate.query(LINKS_QUERY, Map.of("ids", members.keySet()), rs -> {
+                members.get(rs.getLong(1)).getLicensePlates().add(rs.getString(2));
+            });
+        }
+        return new ArrayList<>(members.values());
+    }
+
+    private List<SyncVehicleDTO> findVehicles(Set<String> licensePlates) {
+        if (licensePlates.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(VEHICLES_QUERY, Map.of("ids", licensePlates), (rs, rowNum) -> {
+            SyncVehicleDTO vehicleDTO = new SyncVehicleDTO();
+            vehicleDTO.setLicensePlate(rs.getString(1));
+            vehicleDTO.setMake(rs.getString(2));
+            vehicleDTO.setModel(rs.getString(3));
+            vehicleDTO.setYear(rs.getInt(4));
+            vehicleDTO.setVersion(rs.getLong(5));
+            return vehicleDTO;
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.vintage.vcc.services;
 
 import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.VehiclePageDTO;
+import com.vintage.vcc.model.dtos.VehiclePatchDTO;
 
 import java.util.List;
 
@@ -9,13 +11,22 @@ public interface VehicleService {
 
     VehicleDTO createVehicle(VehicleDTO vehicleDTO);
 
+    List<VehicleDTO> createVehicles(List<VehicleDTO> vehicleDTOs);
+
     List<VehicleDTO> getAllVehicles();
 
     VehicleDTO getVehicleByLicensePlate(String licensePlate);
 
+    ResourceVersion getVehicleVersion(String licensePlate);
+
+    ResourceVersion getAllVehiclesVersion();
+
     List<VehicleDTO> getVehiclesByParams(String licensePlate, String make, String model, Integer year);
 
+    VehiclePageDTO searchVehicles(String licensePlate, String make, String model, Integer yearFrom, Integer yearTo,
+                                  int page, int size);
+
     VehicleDTO deleteVehicleByLicensePlate(String licensePlate);
 
-    VehicleDTO updateVehicleByLicensePlate(String licensePlate, VehicleDTO vehicleDTO);
+    VehicleDTO updateVehicleByLicensePlate(String licensePlate, VehiclePatchDTO vehiclePatchDTO);
 }
\ No newline at end of file
@@ -1,133 +1,227 @@
 package com.vintage.vcc.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.config.CacheConfig;
+import com.vintage.vcc.config.MetricsConfig;
+import com.vintage.vcc.events.MemberChangedEvent;
+import com.vintage.vcc.events.VehicleChangedEvent;
 import com.vintage.vcc.exceptions.VehicleCreateException;
 import com.vintage.vcc.exceptions.VehicleNotFoundException;
-import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.mappers.EntityMapper;
 import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.VehiclePageDTO;
+import com.vintage.vcc.model.dtos.VehiclePatchDTO;
 import com.vintage.vcc.model.entities.Member;
 import com.vintage.vcc.model.entities.Vehicle;
 import com.vintage.vcc.repositories.MemberRepository;
 import com.vintage.vcc.repositories.VehicleRepository;
-import jakarta.transaction.Transactional;
+import com.vintage.vcc.repositories.VehicleSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @Slf4j
 public class VehicleServiceImpl implements VehicleService {
     private final VehicleRepository vehicleRepository;
     private final MemberRepository memberRepository;
-    private final ObjectMapper objectMapper;
+    private final EntityMapper entityMapper;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
 
-    public VehicleServiceImpl(VehicleRepository vehicleRepository, MemberRepository memberRepository, ObjectMapper objectMapper) {
+    public VehicleServiceImpl(VehicleRepository vehicleRepository, MemberRepository memberRepository, EntityMapper entityMapper,
+                              EntityManager entityManager, CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                              JdbcTemplate jdbcTemplate) {
         this.vehicleRepository = vehicleRepository;
         this.memberRepository = memberRepository;
-        this.objectMapper = objectMapper;
+        this.entityMapper = entityMapper;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#vehicleDTO.licensePlate")
     public VehicleDTO createVehicle(VehicleDTO vehicleDTO) {
         String licensePlate = vehicleDTO.getLicensePlate();
 
         if (vehicleRepository.existsByLicensePlate(licensePlate)) {
             throw new VehicleCreateException("Vehicle with license plate '" + licensePlate + "' already exists");
         }
-        return Optional.of(objectMapper.convertValue(vehicleDTO, Vehicle.class))
+        return Optional.of(entityMapper.toVehicle(vehicleDTO))
                 .map(vehicleRepository::save)
                 .map(vehicleResponseEntity -> {
                     log.info("Vehicle with license plate: {} ", vehicleResponseEntity.getLicensePlate());
-                    return objectMapper.convertValue(vehicleResponseEntity, VehicleDTO.class);
+                    eventPublisher.publishEvent(VehicleChangedEvent.of(vehicleResponseEntity.getLicensePlate()));
+                    return entityMapper.toVehicleDTO(vehicleResponseEntity, EntityMapper.SCALARS_ONLY);
                 })
                 .orElseThrow(() -> new VehicleCreateException("Failed to create vehicle"));
     }
+    @Transactional
     @Override
-    public VehicleDTO updateVehicleByLicensePlate(String licensePlate, VehicleDTO vehicleDTO) {
-        return Optional.ofNullable(vehicleRepository.findByLicensePlate(licensePlate))
-                .map(existingVehicle -> {
-                    existingVehicle.setMake(vehicleDTO.getMake());
-                    existingVehicle.setModel(vehicleDTO.getModel());
-                    existingVehicle.setYear(vehicleDTO.getYear());
+    public List<VehicleDTO> createVehicles(List<VehicleDTO> vehicleDTOs) {
+        Set<String> licensePlates = new LinkedHashSet<>();
+        Set<String> duplicates = new LinkedHashSet<>();
+        for (VehicleDTO vehicleDTO : vehicleDTOs) {
+            if (!licensePlates.add(vehicleDTO.getLicensePlate())) {
+                duplicates.add(vehicleDTO.getLicensePlate());
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            throw new VehicleCreateException("License plates appear more than once in the request: " + String.join(", ", duplicates));
+        }
+        Set<String> existingLicensePlates = vehicleRepository.findExistingLicensePlates(licensePlates);
+        if (!existingLicensePlates.isEmpty()) {
+            throw new VehicleCreateException("Vehicles with license plates already exist: " + String.join(", ", existingLicensePlates));
+        }
 
-                    Vehicle updatedVehicle = vehicleRepository.save(existingVehicle);
+        // Plates are assigned ids, so persist() goes straight to a batched insert where save() would merge and select first.
+        List<Vehicle> vehicles = vehicleDTOs.stream()
+                .map(entityMapper::toVehicle)
+                .toList();
+        vehicles.forEach(entityManager::persist);
+        entityManager.flush();
 
-                    log.info("Vehicle with license plate: {} was updated", licensePlate);
-                    return objectMapper.convertValue(updatedVehicle, VehicleDTO.class);
-                })
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE));
+        licensePlates.forEach(cache::evict);
+        log.info("{} vehicles were created", vehicles.size());
+        eventPublisher.publishEvent(new VehicleChangedEvent(licensePlates));
+        return vehicles.stream()
+                .map(vehicle -> entityMapper.toVehicleDTO(vehicle, EntityMapper.SCALARS_ONLY))
+                .toList();
+    }
+    @Transactional
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate")
+    public VehicleDTO updateVehicleByLicensePlate(String licensePlate, VehiclePatchDTO vehiclePatchDTO) {
+        int updated = vehicleRepository.patchByLicensePlate(licensePlate, vehiclePatchDTO.getVersion(),
+                vehiclePatchDTO.getMake(), vehiclePatchDTO.getModel(), vehiclePatchDTO.getYear(), Instant.now());
+        if (updated == 0) {
+            if (!vehicleRepository.existsById(licensePlate)) {
+                throw new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found");
+            }
+            throw new OptimisticLockingFailureException("Vehicle with license plate: " + licensePlate + " was modified since version " + vehiclePatchDTO.getVersion());
+        }
+        log.info("Vehicle with license plate: {} was updated", licensePlate);
+        eventPublisher.publishEvent(VehicleChangedEvent.of(licensePlate));
+        return Optional.ofNullable(vehicleRepository.findByLicensePlate(licensePlate))
+                .map(vehicleEntity -> entityMapper.toVehicleDTO(vehicleEntity, EntityMapper.SCALARS_ONLY))
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found"));
     }
     @Transactional
     @Override
+    @CacheEvict(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate")
     public VehicleDTO deleteVehicleByLicensePlate(String licensePlate) {
         return Optional.ofNullable(vehicleRepository.findByLicensePlate(licensePlate))
                 .map(vehicle -> {
-                    VehicleDTO vehicleDTO = objectMapper.convertValue(vehicle, VehicleDTO.class);
+                    VehicleDTO vehicleDTO = entityMapper.toVehicleDTO(vehicle, EntityMapper.SCALARS_ONLY);
+                    List<Long> ownerIds = vehicle.getOwners().stream().map(Member::getMemberId).toList();
+                    if (!ownerIds.isEmpty()) {
+                        // Vehicle is the inverse side, so its links are removed here, and the owners' versions are
+                        // bumped because their representation loses the vehicle.
+                        jdbcTemplate.update("DELETE FROM member_vehicle WHERE license_plate = ?", licensePlate);
+                        memberRepository.touchByMemberIdIn(ownerIds, Instant.now());
+                    }
                     vehicleRepository.deleteByLicensePlate(licensePlate);
+                    SecondLevelCaches.evictLinksAfterCommit(entityManager, ownerIds, List.of(), false);
                     log.info("Vehicle with license plate: {} was deleted", licensePlate);
+                    eventPublisher.publishEvent(VehicleChangedEvent.of(licensePlate));
+                    if (!ownerIds.isEmpty()) {
+                        eventPublisher.publishEvent(new MemberChangedEvent(ownerIds));
+                    }
                     return vehicleDTO;
                 })
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found"));
     }
+    // Left off the replicas: a lagging replica read right after an eviction would be cached for expire-after-write.
     @Override
+    // Synchronized, so the lookup goes through the cache's get with a loader, which discards rows an eviction overtook.
+    @Cacheable(cacheNames = CacheConfig.VEHICLES_BY_LICENSE_PLATE, key = "#licensePlate", sync = true)
     public VehicleDTO getVehicleByLicensePlate(String licensePlate) throws VehicleNotFoundException {
         return Optional.ofNullable(vehicleRepository.findByLicensePlate(licensePlate))
-                .map(vehicleEntity -> objectMapper.convertValue(vehicleEntity, VehicleDTO.class))
+                .map(vehicleEntity -> entityMapper.toVehicleDTO(vehicleEntity, EntityMapper.SCALARS_ONLY))
                 .orElseThrow(() -> new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found"));
     }
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getVehicleVersion(String licensePlate) {
+        return vehicleRepository.findById(licensePlate)
+                .map(vehicle -> ResourceVersion.of("vehicle:" + licensePlate + ":" + vehicle.getVersion(), vehicle.getLastModified()))
+                .orElseThrow(() -> new VehicleNotFoundException("Vehicle with license plate: " + licensePlate + " not found"));
+    }
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllVehiclesVersion() {
+        return ResourceVersion.ofRoster("vehicles", memberRepository.summarizeRosterVersions());
+    }
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<VehicleDTO> getVehiclesByParams(String licensePlate, String make, String model, Integer year) {
-        return Optional.of(vehicleRepository.findVehiclesByParams(licensePlate, make, model, year))
+        Specification<Vehicle> specification = Specification.where(VehicleSpecifications.licensePlateEquals(licensePlate))
+                .and(VehicleSpecifications.makeEquals(make))
+                .and(VehicleSpecifications.modelEquals(model))
+                .and(VehicleSpecifications.yearEquals(year));
+        return Optional.of(vehicleRepository.findAll(specification))
                 .map(vehicleEntities -> vehicleEntities.stream()
-                        .map(vehicle -> objectMapper.convertValue(vehicle, VehicleDTO.class))
+                        .map(vehicle -> entityMapper.toVehicleDTO(vehicle, EntityMapper.SCALARS_ONLY))
                         .collect(Collectors.toList()))
                 .orElseThrow(() -> new VehicleNotFoundException("Failed to retrieve vehicles"));
     }
     @Override
+    @Transactional(readOnly = true)
+    public VehiclePageDTO searchVehicles(String licensePlate, String make, String model, Integer yearFrom, Integer yearTo,
+                                         int page, int size) {
+        Specification<Vehicle> specification = Specification.where(VehicleSpecifications.licensePlateEquals(licensePlate))
+                .and(VehicleSpecifications.makeStartsWithIgnoreCase(make))
+                .and(VehicleSpecifications.modelStartsWithIgnoreCase(model))
+                .and(VehicleSpecifications.yearFrom(yearFrom))
+                .and(VehicleSpecifications.yearTo(yearTo));
+        Page<Vehicle> vehicles = vehicleRepository.findAll(specification, PageRequest.of(page, size, Sort.by("licensePlate")));
+
+        VehiclePageDTO vehiclePageDTO = new VehiclePageDTO();
+        vehiclePageDTO.setVehicles(vehicles.stream()
+                .map(vehicle -> entityMapper.toVehicleDTO(vehicle, EntityMapper.SCALARS_ONLY))
+                .toList());
+        vehiclePageDTO.setPage(vehicles.getNumber());
+        vehiclePageDTO.setSize(vehicles.getSize());
+        vehiclePageDTO.setTotalElements(vehicles.getTotalElements());
+        vehiclePageDTO.setTotalPages(vehicles.getTotalPages());
+        return vehiclePageDTO;
+    }
+    @Override
+    @Transactional(readOnly = true)
     public List<VehicleDTO> getAllVehicles() {
-        return Optional.of(vehicleRepository.findAll(Sort.by("licensePlate").ascending()))
+        return Optional.of(vehicleRepository.findAllWithOwners(Sort.by("licensePlate").ascending()))
                 .map(vehicleEntityList -> vehicleEntityList.stream()
-                        .map(this::mapVehicleToDTOWithMembers)
+                        .map(vehicle -> entityMapper.toVehicleDTO(vehicle, EntityMapper.WITH_LINKED))
                         .toList())
                 .orElseThrow(() -> new VehicleNotFoundException("Failed to retrieve vehicles"));
     }
-    private VehicleDTO mapVehicleToDTOWithMembers(Vehicle vehicle) {
-        VehicleDTO vehicleDTO = mapVehicleToDTO(vehicle);
-
-        List<MemberDTO> memberDTOs = mapMembersToDTOs(vehicle.getOwners());
-        vehicleDTO.setOwners(memberDTOs);
-        return vehicleDTO;
-    }
-
-    private MemberDTO mapMemberToDTO(Member member) {
-        MemberDTO memberDTO = new MemberDTO();
-        memberDTO.setMemberId(member.getMemberId());
-        memberDTO.setFirstName(member.getFirstName());
-        memberDTO.setLastName(member.getLastName());
-        memberDTO.setEmail(member.getEmail());
-        memberDTO.setGender(member.getGender());
-        memberDTO.setCity(member.getCity());
-        return memberDTO;
-    }
-
-    private List<MemberDTO> mapMembersToDTOs(List<Member> members) {
-        return members.stream()
-                .map(this::mapMemberToDTO)
-                .toList();
-    }
-
-    private VehicleDTO mapVehicleToDTO(Vehicle vehicle) {
-        VehicleDTO vehicleDTO = new VehicleDTO();
-        vehicleDTO.setLicensePlate(vehicle.getLicensePlate());
-        vehicleDTO.setMake(vehicle.getMake());
-        vehicleDTO.setModel(vehicle.getModel());
-        vehicleDTO.setYear(vehicle.getYear());
-        return vehicleDTO;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.vintage.vcc.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests in flight, with a cap that follows how long requests wait for a database connection.
+ * <p>
+ * Every {@code sample-interval} the mean Hikari acquire time ({@code hikaricp.connections.acquire}) since the last
+ * sample is compared with {@code pool-wait-threshold}. Above it the limit is cut by a quarter, down to
+ * {@code min-concurrency}; otherwise it grows by a tenth, up to {@code max-concurrency}. Requests beyond the limit
+ * are turned away at once instead of queueing for a connection until they time out.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vcc.throttling.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimit {
+    public static final String POOL_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+    private final MeterRegistry meterRegistry;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final long poolWaitThresholdNanos;
+    private final Duration sampleInterval;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("vcc-concurrency-limit").daemon().unstarted(runnable));
+    private volatile int limit;
+    private long sampledCount;
+    private double sampledTotalNanos;
+
+    public AdaptiveConcurrencyLimit(MeterRegistry meterRegistry,
+                                    @Value("${vcc.throttling.min-concurrency:10}") int minConcurrency,
+                                    @Value("${vcc.throttling.max-concurrency:200}") int maxConcurrency,
+                                    @Value("${vcc.throttling.pool-wait-threshold:50ms}") Duration poolWaitThreshold,
+                                    @Value("${vcc.throttling.sample-interval:1s}") Duration sampleInterval) {
+        this.meterRegistry = meterRegistry;
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        this.poolWaitThresholdNanos = poolWaitThreshold.toNanos();
+        this.sampleInterval = sampleInterval;
+        this.limit = maxConcurrency;
+        meterRegistry.gauge("vcc.concurrency.limit", List.of(), this, AdaptiveConcurrencyLimit::limit);
+        meterRegistry.gauge("vcc.concurrency.in-flight", List.of(), inFlight);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        adjust();
+        sampler.scheduleWithFixedDelay(this::adjust, sampleInterval.toMillis(), sampleInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * How long a turned-away client should wait: the limit is not reconsidered before the next sample.
+     */
+    public Duration retryAfter() {
+        return sampleInterval;
+    }
+
+    /**
+     * Takes a sample of the pool acquire timers and moves the limit. Without acquisitions since the last sample the
+     * pool is taken to be healthy.
+     */
+    public synchronized void adjust() {
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : meterRegistry.find(POOL_ACQUIRE_TIMER).timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long acquisitions = count - sampledCount;
+        double meanWaitNanos = acquisitions > 0 ? (totalNanos - sampledTotalNanos) / acquisitions : 0;
+        sampledCount = count;
+        sampledTotalNanos = totalNanos;
+
+        int previous = limit;
+        if (meanWaitNanos > poolWaitThresholdNanos) {
+            limit = Math.max(minConcurrency, previous * 3 / 4);
+        } else {
+            limit = Math.min(maxConcurrency, previous + Math.max(1, previous / 10));
+        }
+        if (limit < previous) {
+            log.warn("Mean connection wait of {} ms, concurrency limit lowered from {} to {}",
+                    Math.round(meanWaitNanos / 1_000_000), previous, limit);
+        }
+    }
+}
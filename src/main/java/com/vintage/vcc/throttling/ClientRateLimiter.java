@@ -0,0 +1,41 @@
+package com.vintage.vcc.throttling;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * One {@link TokenBucket} per client. Buckets of clients that have been idle for {@code expire-after-access} are
+ * dropped; a returning client starts again with a full bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "vcc.throttling.enabled", havingValue = "true")
+public class ClientRateLimiter {
+    private final Cache<String, TokenBucket> buckets;
+    private final int burst;
+    private final double requestsPerSecond;
+
+    public ClientRateLimiter(@Value("${vcc.throttling.requests-per-second:50}") double requestsPerSecond,
+                             @Value("${vcc.throttling.burst:100}") int burst,
+                             @Value("${vcc.throttling.clients.maximum-size:100000}") long maximumSize,
+                             @Value("${vcc.throttling.clients.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Returns 0 when the client may go ahead, otherwise the nanoseconds it should wait before retrying.
+     */
+    public long tryAcquire(String client, int cost) {
+        long now = System.nanoTime();
+        return buckets.get(client, unused -> new TokenBucket(burst, requestsPerSecond, now)).tryConsume(cost, now);
+    }
+}
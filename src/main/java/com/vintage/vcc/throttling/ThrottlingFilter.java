@@ -0,0 +1,133 @@
+package com.vintage.vcc.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vintage.vcc.config.ClientKey;
+import com.vintage.vcc.exceptions.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds member and vehicle requests before they reach the controllers.
+ * <p>
+ * A client, identified by its {@link ClientKey}, first pays for the request from its token bucket: one token, or
+ * {@code list-cost} tokens for the full listings, the member stream and the exports. An empty bucket gets 429. The request then needs a slot under the {@link AdaptiveConcurrencyLimit}; when the
+ * database pool is saturated and every slot is taken it gets 503. Both carry {@code Retry-After} and are counted
+ * under {@code vcc.requests.shed}.
+ */
+public class ThrottlingFilter extends OncePerRequestFilter {
+    public static final String SHED_COUNTER = "vcc.requests.shed";
+    private static final Set<String> LIST_PATHS = Set.of("/api/members", "/api/vehicles", "/api/members/stream",
+            "/api/members/export", "/api/vehicles/export");
+
+    private final ClientKey clientKey;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int listCost;
+
+    public ThrottlingFilter(ClientKey clientKey,
+                            ClientRateLimiter rateLimiter,
+                            AdaptiveConcurrencyLimit concurrencyLimit,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            int listCost) {
+        this.clientKey = clientKey;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.listCost = listCost;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(clientKey.of(request), cost(request));
+        if (waitNanos > 0) {
+            shed(request, response, HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(waitNanos), "rate_limited",
+                    "Rate limit exceeded, retry later");
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            shed(request, response, HttpStatus.SERVICE_UNAVAILABLE, concurrencyLimit.retryAfter(), "overloaded",
+                    "The service is overloaded, retry later");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streams and exports keep their slot, and their connection, until the response is complete.
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private int cost(HttpServletRequest request) {
+        boolean list = HttpMethod.GET.matches(request.getMethod()) && LIST_PATHS.contains(request.getRequestURI())
+                && !(request.getRequestURI().equals("/api/members") && request.getParameter("limit") != null);
+        return list ? listCost : 1;
+    }
+
+    private void shed(HttpServletRequest request, HttpServletResponse response, HttpStatus status, Duration retryAfter,
+                      String reason, String message) throws IOException {
+        Counter.builder(SHED_COUNTER)
+                .tag("reason", reason)
+                .tag("endpoint", request.getRequestURI().startsWith("/api/members") ? "members" : "vehicles")
+                .register(meterRegistry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(status.value(), message, new Date()));
+    }
+
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
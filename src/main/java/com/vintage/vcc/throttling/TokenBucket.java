@@ -0,0 +1,34 @@
+package com.vintage.vcc.throttling;
+
+/**
+ * A token bucket refilled continuously at {@code tokensPerSecond} up to {@code capacity}. Requests take as many
+ * tokens as they cost, so a client can burst up to the capacity and then sustain the refill rate.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(int capacity, double tokensPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Takes {@code cost} tokens and returns 0, or takes nothing and returns the nanoseconds until enough tokens will
+     * have been refilled. A cost above the capacity is charged as the full capacity.
+     */
+    public synchronized long tryConsume(int cost, long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        double needed = Math.min(cost, capacity);
+        if (tokens >= needed) {
+            tokens -= needed;
+            return 0;
+        }
+        return (long) Math.ceil((needed - tokens) / tokensPerNano);
+    }
+}
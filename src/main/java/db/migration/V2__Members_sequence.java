@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Member ids come from {@code members_seq} instead of an identity column, so Hibernate can batch member inserts.
+ * The sequence has to start past the ids already handed out, which takes the current {@code max(member_id)}: H2 has
+ * no {@code setval}, so it is read here and the sequence is created with it as its start.
+ * <p>
+ * Hibernate's pooled optimizer allocates 50 ids at a time, handing out the 50 values up to the one it reads, so the
+ * first value is {@code max(member_id) + 50}. A sequence that already exists, created by Hibernate while the schema
+ * was still managed by {@code ddl-auto=update}, is in use and left as it is.
+ */
+public class V2__Members_sequence extends BaseJavaMigration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxMemberId = queryForLong(statement, "SELECT COALESCE(MAX(member_id), 0) FROM members");
+            statement.execute("CREATE SEQUENCE IF NOT EXISTS members_seq START WITH " + (maxMemberId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+            // Inserts that leave member_id out would otherwise still draw from the identity's own counter.
+            if (queryForLong(statement, "SELECT COUNT(*) FROM information_schema.columns WHERE table_name = 'members' "
+                    + "AND column_name = 'member_id' AND is_identity = 'YES'") > 0) {
+                statement.execute("ALTER TABLE members ALTER COLUMN member_id DROP IDENTITY");
+            }
+        }
+    }
+
+    private static long queryForLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+-- Schema of the original release, as Hibernate created it with ddl-auto=update. Databases that already have it are
+-- baselined at this version; everything added since is a later migration.
+
+CREATE TABLE members (
+    member_id  BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255),
+    gender     CHAR(1)      NOT NULL,
+    city       VARCHAR(255) NOT NULL,
+    CONSTRAINT members_pkey PRIMARY KEY (member_id),
+    CONSTRAINT uk_members_email UNIQUE (email)
+);
+
+CREATE TABLE vehicles (
+    license_plate VARCHAR(255) NOT NULL,
+    make          VARCHAR(255) NOT NULL,
+    model         VARCHAR(255) NOT NULL,
+    year          INTEGER      NOT NULL,
+    CONSTRAINT vehicles_pkey PRIMARY KEY (license_plate)
+);
+
+CREATE TABLE member_vehicle (
+    member_id     BIGINT       NOT NULL,
+    license_plate VARCHAR(255) NOT NULL,
+    CONSTRAINT fk_member_vehicle_member FOREIGN KEY (member_id) REFERENCES members (member_id),
+    CONSTRAINT fk_member_vehicle_vehicle FOREIGN KEY (license_plate) REFERENCES vehicles (license_plate)
+);
@@ -0,0 +1,7 @@
+-- Optimistic-locking versions and modification times, behind the ETag/Last-Modified conditional GETs. Existing rows
+-- start at version 0, modified at the time of the migration.
+
+ALTER TABLE members ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE members ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+ALTER TABLE vehicles ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE vehicles ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
@@ -0,0 +1,5 @@
+-- Filters of the vehicle search
+
+CREATE INDEX IF NOT EXISTS idx_vehicles_make ON vehicles (make);
+CREATE INDEX IF NOT EXISTS idx_vehicles_model ON vehicles (model);
+CREATE INDEX IF NOT EXISTS idx_vehicles_year ON vehicles (year);
@@ -0,0 +1,15 @@
+-- Change feed outbox. Rows are inserted with the change and numbered by the relay once committed; the unique index
+-- keeps two relays from giving the same number to different rows.
+
+CREATE TABLE IF NOT EXISTS change_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    aggregate_type  VARCHAR(16)                 NOT NULL,
+    aggregate_id    VARCHAR(255)                NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sequence_number BIGINT,
+    operation       VARCHAR(16),
+    published_at    TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT change_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_change_outbox_sequence_number ON change_outbox (sequence_number);
@@ -0,0 +1,10 @@
+-- Event check-ins, one per vehicle and event
+
+CREATE TABLE IF NOT EXISTS event_checkins (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    event_id      BIGINT                      NOT NULL,
+    license_plate VARCHAR(255)                NOT NULL,
+    checked_in_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT event_checkins_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_event_checkins_event_plate UNIQUE (event_id, license_plate)
+);
@@ -0,0 +1,10 @@
+-- member_vehicle had no key, so concurrent bulk assignments could link a member to a vehicle twice. Duplicates are
+-- collapsed before the primary key is added. Owner lookups and vehicle deletes filter on license_plate alone.
+
+CREATE TABLE member_vehicle_distinct AS SELECT DISTINCT member_id, license_plate FROM member_vehicle;
+DELETE FROM member_vehicle;
+INSERT INTO member_vehicle (member_id, license_plate) SELECT member_id, license_plate FROM member_vehicle_distinct;
+DROP TABLE member_vehicle_distinct;
+
+ALTER TABLE member_vehicle ADD CONSTRAINT member_vehicle_pkey PRIMARY KEY (member_id, license_plate);
+CREATE INDEX idx_member_vehicle_license_plate ON member_vehicle (license_plate);
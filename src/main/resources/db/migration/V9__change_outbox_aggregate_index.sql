@@ -0,0 +1,3 @@
+-- Lets the relay's pruning find whether a later change covers the same member or vehicle
+
+CREATE INDEX IF NOT EXISTS idx_change_outbox_aggregate ON change_outbox (aggregate_type, aggregate_id, sequence_number);
@@ -0,0 +1,115 @@
+package com.vintage.vcc;
+
+import com.vintage.vcc.changes.ChangeRelay;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.services.CheckInService;
+import com.vintage.vcc.services.MemberService;
+import com.vintage.vcc.services.VehicleService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the application on a schema built only by the Flyway migrations, on H2 in PostgreSQL mode, and writes
+ * through every table. A database of the original release, created without Flyway, is upgraded too.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vintage_migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class MigrationsIntegrationTest {
+
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private CheckInService checkInService;
+    @Autowired
+    private ChangeRelay changeRelay;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchema_SupportsTheEntityMappings() {
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setFirstName("Camille");
+        memberDTO.setLastName("Roux");
+        memberDTO.setEmail("camille.migrations@example.com");
+        memberDTO.setGender('F');
+        memberDTO.setCity("Lyon");
+        Long memberId = memberService.createMember(memberDTO).getMemberId();
+
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate("MIG-1");
+        vehicleDTO.setMake("Jaguar");
+        vehicleDTO.setModel("E-Type");
+        vehicleDTO.setYear(1961);
+        vehicleService.createVehicle(vehicleDTO);
+        memberService.assignVehicleToMember(memberId, "MIG-1");
+
+        checkInService.checkIn(1L, "MIG-1");
+        checkInService.flush();
+        changeRelay.relay();
+
+        assertEquals(List.of("MIG-1"), memberService.getMemberById(memberId).getVehicles().stream()
+                .map(VehicleDTO::getLicensePlate)
+                .toList());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_checkins", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_outbox WHERE sequence_number IS NULL", Integer.class));
+        assertEquals(8, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM flyway_schema_history WHERE success AND type IN ('SQL', 'JDBC')", Integer.class));
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO member_vehicle (member_id, license_plate) VALUES (?, ?)", memberId, "MIG-1"));
+    }
+
+    @Test
+    void migrate_UpgradesTheOriginalReleaseSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:vintage_upgrade;MODE=PostgreSQL;"
+                + "DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR", "sa", "");
+        JdbcTemplate original = new JdbcTemplate(dataSource);
+        // What ddl-auto=update created for the original entities, with members linked twice to one vehicle
+        original.execute("CREATE TABLE members (member_id BIGINT GENERATED BY DEFAULT AS IDENTITY, city VARCHAR(255) NOT NULL, " +
+                "email VARCHAR(255) UNIQUE, first_name VARCHAR(255) NOT NULL, gender CHAR(1) NOT NULL, " +
+                "last_name VARCHAR(255) NOT NULL, PRIMARY KEY (member_id))");
+        original.execute("CREATE TABLE vehicles (year INTEGER NOT NULL, license_plate VARCHAR(255) NOT NULL UNIQUE, " +
+                "make VARCHAR(255) NOT NULL, model VARCHAR(255) NOT NULL, PRIMARY KEY (license_plate))");
+        original.execute("CREATE TABLE member_vehicle (member_id BIGINT NOT NULL, license_plate VARCHAR(255) NOT NULL, " +
+                "FOREIGN KEY (member_id) REFERENCES members, FOREIGN KEY (license_plate) REFERENCES vehicles)");
+        original.update("INSERT INTO members (city, email, first_name, gender, last_name) VALUES " +
+                "('Lyon', 'a@example.com', 'Ada', 'F', 'Roux'), ('Paris', 'b@example.com', 'Ben', 'M', 'Roux')");
+        original.update("INSERT INTO vehicles (year, license_plate, make, model) VALUES (1961, 'UP-1', 'Jaguar', 'E-Type')");
+        original.update("INSERT INTO member_vehicle (member_id, license_plate) VALUES (1, 'UP-1'), (1, 'UP-1'), (2, 'UP-1')");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals(List.of(0L, 0L), original.queryForList("SELECT version FROM members ORDER BY member_id", Long.class));
+        assertEquals(0, original.queryForObject("SELECT COUNT(*) FROM vehicles WHERE last_modified IS NULL", Integer.class));
+        assertEquals(2, original.queryForObject("SELECT COUNT(*) FROM member_vehicle", Integer.class));
+        // The pooled optimizer hands out the 50 ids up to the value it reads, so they start right after member 2
+        assertEquals(52, original.queryForObject("SELECT nextval('members_seq')", Long.class));
+        assertThrows(DataIntegrityViolationException.class, () -> original.update(
+                "INSERT INTO members (city, first_name, gender, last_name) VALUES ('Turin', 'Cleo', 'F', 'Roux')"));
+        original.update("INSERT INTO change_outbox (aggregate_type, aggregate_id, created_at) VALUES ('MEMBER', '3', CURRENT_TIMESTAMP)");
+        original.update("INSERT INTO event_checkins (event_id, license_plate, checked_in_at) VALUES (1, 'UP-1', CURRENT_TIMESTAMP)");
+    }
+}
@@ -0,0 +1,66 @@
+package com.vintage.vcc.analytics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RosterSnapshotTest {
+
+    private RosterSnapshot rosterSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        rosterSnapshot = new RosterSnapshot();
+        rosterSnapshot.putMember(1, "Lyon", 'F');
+        rosterSnapshot.putMember(2, "Lyon", 'M');
+        rosterSnapshot.putMember(3, "Paris", 'F');
+        rosterSnapshot.putVehicle("JAG-1", "Jaguar", "E-Type", 1961);
+        rosterSnapshot.putVehicle("JAG-2", "Jaguar", "XK120", 1948);
+        rosterSnapshot.putVehicle("MG-1", "MG", "TD", 1953);
+    }
+
+    @Test
+    void countBy_GroupsLargestFirst() {
+        assertEquals(List.of(new GroupCount("Lyon", 2), new GroupCount("Paris", 1)), rosterSnapshot.countMembersByCity());
+        assertEquals(List.of(new GroupCount("F", 2), new GroupCount("M", 1)), rosterSnapshot.countMembersByGender());
+        assertEquals(List.of(new GroupCount("Jaguar", 2), new GroupCount("MG", 1)), rosterSnapshot.countVehiclesByMake());
+        assertEquals(3, rosterSnapshot.countVehiclesByModel().size());
+    }
+
+    @Test
+    void vehicleYearHistogram_IncludesEmptyBucketsInYearOrder() {
+        assertEquals(List.of(new GroupCount("1940", 1), new GroupCount("1950", 1), new GroupCount("1960", 1)),
+                rosterSnapshot.vehicleYearHistogram(10));
+        assertEquals(List.of(new GroupCount("1945", 1), new GroupCount("1950", 1), new GroupCount("1955", 0),
+                new GroupCount("1960", 1)), rosterSnapshot.vehicleYearHistogram(5));
+    }
+
+    @Test
+    void putAndRemove_UpdateRowsInPlace() {
+        rosterSnapshot.putMember(1, "Paris", 'F');
+        rosterSnapshot.removeMember(3);
+        rosterSnapshot.removeVehicle("JAG-1");
+        rosterSnapshot.putVehicle("MG-1", "Morgan", "Plus 4", 1953);
+
+        assertEquals(List.of(new GroupCount("Lyon", 1), new GroupCount("Paris", 1)), rosterSnapshot.countMembersByCity());
+        assertEquals(List.of(new GroupCount("Jaguar", 1), new GroupCount("Morgan", 1)), rosterSnapshot.countVehiclesByMake());
+        assertEquals(2, rosterSnapshot.memberCount());
+        assertEquals(2, rosterSnapshot.vehicleCount());
+    }
+
+    @Test
+    void putMember_GrowsColumnsPastInitialCapacity() {
+        for (long memberId = 10; memberId < 5_010; memberId++) {
+            rosterSnapshot.putMember(memberId, memberId % 2 == 0 ? "Turin" : "Geneva", 'M');
+        }
+        for (long memberId = 10; memberId < 5_010; memberId += 2) {
+            rosterSnapshot.removeMember(memberId);
+        }
+
+        assertEquals(List.of(new GroupCount("Geneva", 2_500), new GroupCount("Lyon", 2), new GroupCount("Paris", 1)),
+                rosterSnapshot.countMembersByCity());
+    }
+}
@@ -0,0 +1,174 @@
+package com.vintage.vcc.checkins;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttendanceLedgerTest {
+
+    private AttendanceLedger attendanceLedger;
+
+    @BeforeEach
+    void setUp() {
+        attendanceLedger = new AttendanceLedger();
+    }
+
+    @Test
+    void record_RepeatScanIsDuplicateAndKeepsFirstCheckIn() {
+        CheckIn first = new CheckIn(1, "JAG-1", List.of(10L, 11L), Instant.parse("2026-06-01T09:00:00Z"));
+        assertFalse(attendanceLedger.record(first, eventId -> List.of()).duplicate());
+
+        AttendanceLedger.Recorded repeat = attendanceLedger.record(
+                new CheckIn(1, "JAG-1", List.of(10L, 11L), Instant.parse("2026-06-01T09:05:00Z")), eventId -> List.of());
+
+        assertTrue(repeat.duplicate());
+        assertEquals(first, repeat.checkIn());
+        assertEquals(new Attendance(1, 2), attendanceLedger.attendance(1, eventId -> List.of()));
+        assertEquals(List.of(first), attendanceLedger.drainPending(10));
+    }
+
+    @Test
+    void record_LoadsHistoryOncePerEvent() {
+        AtomicInteger loads = new AtomicInteger();
+        CheckIn flushed = new CheckIn(2, "MG-1", List.of(10L), Instant.parse("2026-06-01T08:00:00Z"));
+
+        attendanceLedger.record(new CheckIn(2, "JAG-1", List.of(10L, 11L), Instant.now()), eventId -> {
+            loads.incrementAndGet();
+            return List.of(flushed);
+        });
+        AttendanceLedger.Recorded repeat = attendanceLedger.record(
+                new CheckIn(2, "MG-1", List.of(10L), Instant.now()), eventId -> List.of());
+
+        assertEquals(1, loads.get());
+        assertTrue(repeat.duplicate());
+        assertEquals(new Attendance(2, 2), attendanceLedger.attendance(2, eventId -> List.of()));
+        assertEquals(1, attendanceLedger.drainPending(10).size());
+    }
+
+    @Test
+    void record_ConcurrentScansOfOnePlateRecordOnce() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return attendanceLedger.record(new CheckIn(3, "JAG-1", List.of(10L), Instant.now()),
+                            eventId -> List.of()).duplicate();
+                }));
+            }
+            start.countDown();
+            int recorded = 0;
+            for (Future<Boolean> result : results) {
+                recorded += result.get() ? 0 : 1;
+            }
+            assertEquals(1, recorded);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, attendanceLedger.drainPending(100).size());
+    }
+
+    @Test
+    void record_ConcurrentFirstScansLoadHistoryOnce() throws Exception {
+        int threads = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String licensePlate = "JAG-" + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return attendanceLedger.record(new CheckIn(5, licensePlate, List.of(10L), Instant.now()), eventId -> {
+                        loads.incrementAndGet();
+                        return List.of();
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(new Attendance(threads, 1), attendanceLedger.attendance(5, eventId -> List.of()));
+    }
+
+    @Test
+    void attendance_UnknownEventIsNotKept() {
+        AtomicInteger loads = new AtomicInteger();
+        LongFunction<Collection<CheckIn>> history = eventId -> {
+            loads.incrementAndGet();
+            return List.of();
+        };
+
+        assertEquals(new Attendance(0, 0), attendanceLedger.attendance(6, history));
+        assertEquals(new Attendance(0, 0), attendanceLedger.attendance(6, history));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictIdle_KeepsEventsWithCheckInsToFlush() {
+        AtomicInteger loads = new AtomicInteger();
+        CheckIn flushed = new CheckIn(7, "MG-1", List.of(10L), Instant.parse("2026-06-01T08:00:00Z"));
+        LongFunction<Collection<CheckIn>> history = eventId -> {
+            loads.incrementAndGet();
+            return List.of(flushed);
+        };
+        attendanceLedger.record(new CheckIn(7, "JAG-1", List.of(11L), Instant.now()), history);
+
+        assertEquals(0, attendanceLedger.evictIdle(Duration.ZERO));
+
+        attendanceLedger.flushed(attendanceLedger.drainPending(10));
+        assertEquals(1, attendanceLedger.evictIdle(Duration.ZERO));
+        assertEquals(new Attendance(1, 1), attendanceLedger.attendance(7, history));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void record_FailedHistoryLoadIsRetried() {
+        assertThrows(IllegalStateException.class, () -> attendanceLedger.record(
+                new CheckIn(8, "JAG-1", List.of(10L), Instant.now()), eventId -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        assertFalse(attendanceLedger.record(new CheckIn(8, "JAG-1", List.of(10L), Instant.now()), eventId -> List.of())
+                .duplicate());
+    }
+
+    @Test
+    void requeue_ReturnsCheckInsToTheNextDrain() {
+        attendanceLedger.record(new CheckIn(4, "JAG-1", List.of(), Instant.now()), eventId -> List.of());
+        attendanceLedger.record(new CheckIn(4, "JAG-2", List.of(), Instant.now()), eventId -> List.of());
+
+        List<CheckIn> batch = attendanceLedger.drainPending(1);
+        assertEquals(1, batch.size());
+        attendanceLedger.requeue(batch);
+
+        assertEquals(2, attendanceLedger.drainPending(10).size());
+        assertTrue(attendanceLedger.drainPending(10).isEmpty());
+    }
+}
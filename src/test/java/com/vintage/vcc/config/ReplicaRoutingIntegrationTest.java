@@ -0,0 +1,108 @@
+package com.vintage.vcc.config;
+
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded H2 databases stand in for the primary and the replica. They are not replicated, so a row shows up
+ * only in the database it was written to, which tells which one a query went to. The replica has no schema until
+ * each test copies it, so the in-memory indexes are not loaded at startup.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "vcc.datasource.replica.urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "vcc.datasource.read-your-writes.window=1m",
+        "vcc.clients.api-keys=writer,reader",
+        "vcc.search.index-on-startup=false",
+        "vcc.ownership.index-on-startup=false",
+        "vcc.stats.index-on-startup=false",
+        "vcc.checkins.index-on-startup=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:vintage_primary;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR";
+    static final String REPLICA_URL = "jdbc:h2:mem:vintage_replica;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR";
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Hibernate creates the schema on the primary only; the replica gets a copy of it.
+        replica.execute("DROP ALL OBJECTS");
+        jdbcTemplate.queryForList("SCRIPT NODATA", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .forEach(replica::execute);
+        replica.update("INSERT INTO vehicles (license_plate, make, model, year, version, last_modified) " +
+                "VALUES ('RR-2', 'Routed', 'Replica', 1961, 0, CURRENT_TIMESTAMP)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyQueries_GoToReplicaUnlessTheClientJustWrote() throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .header(ClientKey.API_KEY_HEADER, "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"RR-1\", \"make\": \"Routed\", \"model\": \"Primary\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/vehicles/byParams").param("make", "Routed").header(ClientKey.API_KEY_HEADER, "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].licensePlate", contains("RR-2")));
+        mockMvc.perform(get("/api/vehicles/byParams").param("make", "Routed").header(ClientKey.API_KEY_HEADER, "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].licensePlate", contains("RR-1")));
+    }
+
+    @Test
+    void readOnlyQueries_WithoutClientAreNotPinned() {
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate("RR-3");
+        vehicleDTO.setMake("Routed");
+        vehicleDTO.setModel("Primary");
+        vehicleDTO.setYear(1961);
+        vehicleService.createVehicle(vehicleDTO);
+
+        List<VehicleDTO> vehicles = vehicleService.getVehiclesByParams(null, "Routed", null, null);
+
+        assertEquals(List.of("RR-2"), vehicles.stream().map(VehicleDTO::getLicensePlate).toList());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles WHERE license_plate = 'RR-3'", Integer.class));
+    }
+}
@@ -0,0 +1,30 @@
+package com.vintage.vcc.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "vcc.server.virtual-threads=true")
+class VirtualThreadsIntegrationTest {
+
+    @Autowired
+    private ServletWebServerApplicationContext applicationContext;
+
+    @Test
+    void tomcat_RunsRequestsOnVirtualThreads() throws Exception {
+        TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+        Executor executor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+
+        CompletableFuture<Thread> requestThread = CompletableFuture.supplyAsync(Thread::currentThread, executor);
+
+        assertTrue(requestThread.get().isVirtual());
+    }
+}
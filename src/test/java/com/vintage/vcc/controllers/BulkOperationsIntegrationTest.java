@@ -0,0 +1,139 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.QueryCounter;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BulkOperationsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void createVehicles_InsertsInBatches() throws Exception {
+        queryCounter.reset();
+
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(vehiclesJson(0, 30)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andExpect(jsonPath("$[0].licensePlate").value("BULK-0"));
+
+        // One duplicate lookup, one insert batch and the search index refresh after commit.
+        assertTrue(queryCounter.statementCount() <= 3, "expected batched inserts but saw " + queryCounter.statementCount());
+        assertEquals(30, vehicleRepository.count());
+    }
+
+    @Test
+    void createVehicles_ExistingLicensePlate_Failure() throws Exception {
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(vehiclesJson(0, 2)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(vehiclesJson(1, 3)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Vehicles with license plates already exist: BULK-1"));
+
+        assertEquals(2, vehicleRepository.count());
+    }
+
+    @Test
+    void assignVehiclesToMembers_SkipsExistingLinks() throws Exception {
+        Member member = new Member();
+        member.setFirstName("Ada");
+        member.setLastName("Lovelace");
+        member.setEmail("ada@example.com");
+        member.setGender('F');
+        member.setCity("London");
+        Long memberId = memberRepository.save(member).getMemberId();
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(vehiclesJson(0, 20)))
+                .andExpect(status().isOk());
+        jdbcTemplate.update("INSERT INTO member_vehicle (member_id, license_plate) VALUES (?, 'BULK-0')", memberId);
+
+        String assignments = IntStream.range(0, 20)
+                .mapToObj(i -> "{\"memberId\": " + memberId + ", \"licensePlate\": \"BULK-" + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        mockMvc.perform(post("/api/members/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(assignments))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(20))
+                .andExpect(jsonPath("$.assigned").value(19))
+                .andExpect(jsonPath("$.alreadyAssigned").value(1));
+
+        assertEquals(20, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member_vehicle", Integer.class));
+    }
+
+    @Test
+    void assignVehiclesToMembers_VehicleNotFound_Failure() throws Exception {
+        Member member = new Member();
+        member.setFirstName("Grace");
+        member.setLastName("Hopper");
+        member.setEmail("grace@example.com");
+        member.setGender('F');
+        member.setCity("New York");
+        Long memberId = memberRepository.save(member).getMemberId();
+
+        mockMvc.perform(post("/api/members/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"memberId\": " + memberId + ", \"licensePlate\": \"MISSING-1\"}]"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Vehicles not found: [MISSING-1]"));
+    }
+
+    private static String vehiclesJson(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> "{\"licensePlate\": \"BULK-" + i + "\", \"make\": \"Ford\", \"model\": \"Model T\", \"year\": 1920}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
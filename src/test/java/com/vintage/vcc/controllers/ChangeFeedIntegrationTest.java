@@ -0,0 +1,216 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.changes.ChangeRelay;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The tests relay and prune explicitly, on a database of their own that no other context's scheduled relay can number.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vintage_changes;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "vcc.changes.relay-interval=1h",
+        "vcc.changes.retention=0s"
+})
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ChangeRelay changeRelay;
+
+    private long since;
+
+    @BeforeEach
+    void setUp() {
+        changeRelay.relay();
+        since = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequence_number), 0) FROM change_outbox", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void getChanges_ListsWritesInCommitOrder() throws Exception {
+        String memberId = createMember("camille.changes@example.com");
+        createVehicle("CH-1");
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/CH-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/vehicles/CH-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"make\": \"Bentley\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/vehicles/CH-1"))
+                .andExpect(status().isOk());
+
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(7)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 1))
+                .andExpect(jsonPath("$.changes[0].type").value("MEMBER"))
+                .andExpect(jsonPath("$.changes[0].id").value(memberId))
+                .andExpect(jsonPath("$.changes[0].operation").value("UPSERTED"))
+                .andExpect(jsonPath("$.changes[1].type").value("VEHICLE"))
+                .andExpect(jsonPath("$.changes[1].id").value("CH-1"))
+                .andExpect(jsonPath("$.changes[1].operation").value("DELETED"))
+                .andExpect(jsonPath("$.changes[2].type").value("MEMBER"))
+                .andExpect(jsonPath("$.changes[3].type").value("VEHICLE"))
+                .andExpect(jsonPath("$.changes[3].id").value("CH-1"))
+                .andExpect(jsonPath("$.changes[6].sequence").value(since + 7))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextSince").value(since + 7));
+    }
+
+    @Test
+    void getChanges_PagesWithNextSince() throws Exception {
+        createMember("ada.changes@example.com");
+        createMember("grace.changes@example.com");
+        createMember("hedy.changes@example.com");
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextSince").value(since + 2));
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since + 2)).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextSince").value(since + 3));
+    }
+
+    @Test
+    void getChanges_UnpublishedChangesAreNotListed() throws Exception {
+        jdbcTemplate.update("INSERT INTO change_outbox (aggregate_type, aggregate_id, created_at) VALUES ('MEMBER', '-1', CURRENT_TIMESTAMP)");
+
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(since));
+
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since)))
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].operation").value("DELETED"));
+    }
+
+    @Test
+    void prune_KeepsOnlyTheLatestChangeOfEachMemberOrVehicle() throws Exception {
+        createVehicle("CH-4");
+        mockMvc.perform(delete("/api/vehicles/CH-4"))
+                .andExpect(status().isOk());
+        String memberId = createMember("rosalind.changes@example.com");
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"city\": \"Annecy\"}"))
+                .andExpect(status().isOk());
+        changeRelay.relay();
+
+        changeRelay.prune();
+
+        mockMvc.perform(get("/api/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(since + 4))
+                .andExpect(jsonPath("$.changes[0].id").value(memberId))
+                .andExpect(jsonPath("$.changes[0].operation").value("UPSERTED"));
+    }
+
+    @Test
+    void streamChanges_ReplaysFromSinceAndResumesFromLastEventId() throws Exception {
+        createMember("lise.changes@example.com");
+        createVehicle("CH-2");
+        changeRelay.relay();
+
+        MvcResult replay = mockMvc.perform(get("/api/changes/stream").param("since", String.valueOf(since)).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String replayed = awaitContent(replay, "id:" + (since + 2));
+        assertTrue(replayed.contains("id:" + (since + 1)));
+        assertTrue(replayed.contains("event:change"));
+
+        MvcResult resumed = mockMvc.perform(get("/api/changes/stream").header("Last-Event-ID", since + 1).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertFalse(awaitContent(resumed, "\"id\":\"CH-2\"").contains("id:" + (since + 1) + "\n"));
+    }
+
+    @Test
+    void streamChanges_PushesChangesPublishedAfterSubscribing() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/changes/stream").param("since", String.valueOf(since)).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        createVehicle("CH-3");
+        changeRelay.relay();
+
+        assertTrue(awaitContent(stream, "\"id\":\"CH-3\"").contains("id:" + (since + 1)));
+    }
+
+    /**
+     * Events are sent from the stream threads after the request returns, so the body is polled for them.
+     */
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), () -> "stream did not send " + expected);
+        return content;
+    }
+
+    private String createMember(String email) throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"" + email + "\", \"gender\": \"F\", \"city\": \"Lyon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+    }
+
+    private void createVehicle(String licensePlate) throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"" + licensePlate + "\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+    }
+}
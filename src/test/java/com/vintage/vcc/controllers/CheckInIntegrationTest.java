@@ -0,0 +1,138 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.checkins.AttendanceLedger;
+import com.vintage.vcc.checkins.CheckIn;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.CheckInService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CheckInIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CheckInService checkInService;
+    @Autowired
+    private AttendanceLedger attendanceLedger;
+
+    @AfterEach
+    void tearDown() {
+        checkInService.flush();
+        attendanceLedger.clear();
+        jdbcTemplate.update("DELETE FROM event_checkins");
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void checkIn_FirstScanCreatedRepeatScanDuplicate() throws Exception {
+        String memberId = createMember("camille.checkin@example.com");
+        createVehicle("CI-1");
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/CI-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/events/1/checkins/CI-1"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.duplicate").value(false))
+                .andExpect(jsonPath("$.ownerIds", contains(Integer.parseInt(memberId))))
+                .andExpect(jsonPath("$.attendance.vehicles").value(1))
+                .andExpect(jsonPath("$.attendance.members").value(1));
+        mockMvc.perform(post("/api/events/1/checkins/CI-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.duplicate").value(true))
+                .andExpect(jsonPath("$.attendance.vehicles").value(1));
+    }
+
+    @Test
+    void checkIn_UnknownPlateNotFound() throws Exception {
+        mockMvc.perform(post("/api/events/1/checkins/CI-404"))
+                .andExpect(status().isNotFound());
+
+        createVehicle("CI-2");
+        mockMvc.perform(post("/api/events/1/checkins/CI-2"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(delete("/api/vehicles/CI-2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/events/2/checkins/CI-2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void flush_PersistsCheckInsThatStillCountAfterTheLedgerIsCleared() throws Exception {
+        createVehicle("CI-3");
+        createVehicle("CI-4");
+        mockMvc.perform(post("/api/events/3/checkins/CI-3"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/events/3/checkins/CI-4"))
+                .andExpect(status().isCreated());
+
+        checkInService.flush();
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_checkins WHERE event_id = 3", Integer.class));
+
+        attendanceLedger.clear();
+        mockMvc.perform(get("/api/events/3/attendance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles").value(2))
+                .andExpect(jsonPath("$.members").value(0));
+        mockMvc.perform(post("/api/events/3/checkins/CI-3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.duplicate").value(true));
+    }
+
+    @Test
+    void flush_DropsRowsTheDatabaseRefuses() {
+        attendanceLedger.record(new CheckIn(4, "CI-5", List.of(), Instant.now()), eventId -> List.of());
+        attendanceLedger.record(new CheckIn(4, "CI-".repeat(100), List.of(), Instant.now()), eventId -> List.of());
+
+        checkInService.flush();
+        assertTrue(attendanceLedger.drainPending(10).isEmpty());
+        assertEquals(List.of("CI-5"), jdbcTemplate.queryForList(
+                "SELECT license_plate FROM event_checkins WHERE event_id = 4", String.class));
+    }
+
+    private String createMember(String email) throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"" + email + "\", \"gender\": \"F\", \"city\": \"Lyon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+    }
+
+    private void createVehicle(String licensePlate) throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"" + licensePlate + "\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+    }
+}
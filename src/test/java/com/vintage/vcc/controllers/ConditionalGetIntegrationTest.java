@@ -0,0 +1,145 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Grace\", \"lastName\": \"Hopper\", \"email\": \"grace.etag@example.com\", \"gender\": \"F\", \"city\": \"Arlington\"}"))
+                .andExpect(status().isOk());
+        memberId = memberRepository.findAll().get(0).getMemberId();
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"ETG-1\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void getMemberById_MatchingETag_NotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/members/" + memberId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getMemberById_ChangedAfterUpdate() throws Exception {
+        String etag = etagOf("/api/members/" + memberId);
+
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Grace\", \"lastName\": \"Hopper\", \"email\": \"grace.etag@example.com\", \"gender\": \"F\", \"city\": \"New York\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getMemberById_ChangedAfterVehicleAssigned() throws Exception {
+        String etag = etagOf("/api/members/" + memberId);
+
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/ETG-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getMemberById_ChangedAfterLinkedVehicleDeleted() throws Exception {
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/ETG-1"))
+                .andExpect(status().isOk());
+        String etag = etagOf("/api/members/" + memberId);
+        Instant lastModified = memberRepository.findById(memberId).orElseThrow().getLastModified();
+
+        mockMvc.perform(delete("/api/vehicles/ETG-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/members/" + memberId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles", hasSize(0)));
+        assertTrue(memberRepository.findById(memberId).orElseThrow().getLastModified().isAfter(lastModified));
+    }
+
+    @Test
+    void getVehicleByLicensePlate_MatchingETag_NotModified() throws Exception {
+        String etag = etagOf("/api/vehicles/ETG-1");
+
+        mockMvc.perform(get("/api/vehicles/ETG-1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAllVehicles_ChangedAfterVehicleCreated() throws Exception {
+        String etag = etagOf("/api/vehicles");
+        mockMvc.perform(get("/api/vehicles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"ETG-2\", \"make\": \"Bentley\", \"model\": \"Continental\", \"year\": 1955}"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(etag, etagOf("/api/vehicles"));
+        assertNotEquals(etagOf("/api/vehicles"), etagOf("/api/members"));
+    }
+
+    private String etagOf(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
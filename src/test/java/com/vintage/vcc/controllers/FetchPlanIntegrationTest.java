@@ -0,0 +1,154 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.QueryCounter;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FetchPlanIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void getAllMembers_RunsSingleQueryAfterVersionCheck(int memberCount) throws Exception {
+        seed(memberCount);
+        queryCounter.reset();
+
+        mockMvc.perform(get("/api/members"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(memberCount))
+                .andExpect(jsonPath("$[0].vehicles.length()").value(2));
+
+        // The body's fetch plan plus the ETag check that precedes it.
+        assertEquals(2, queryCounter.statementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void getAllVehicles_RunsSingleQueryAfterVersionCheck(int memberCount) throws Exception {
+        seed(memberCount);
+        queryCounter.reset();
+
+        mockMvc.perform(get("/api/vehicles"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(memberCount * 2))
+                .andExpect(jsonPath("$[0].owners.length()").value(1));
+
+        // The body's fetch plan plus the ETag check that precedes it.
+        assertEquals(2, queryCounter.statementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void getMembersPage_RunsTwoQueries(int memberCount) throws Exception {
+        seed(memberCount);
+        queryCounter.reset();
+
+        mockMvc.perform(get("/api/members").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(2))
+                .andExpect(jsonPath("$.members[1].vehicles.length()").value(2));
+
+        assertEquals(2, queryCounter.statementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void streamAllMembers_RunsSingleQuery(int memberCount) throws Exception {
+        seed(memberCount);
+        queryCounter.reset();
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/members/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(memberCount, body.lines().count());
+        assertEquals(1, queryCounter.statementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void getMemberById_RunsSingleQueryAfterVersionCheck(int memberCount) throws Exception {
+        List<Member> members = seed(memberCount);
+        queryCounter.reset();
+
+        mockMvc.perform(get("/api/members/{id}", members.get(0).getMemberId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles.length()").value(2));
+
+        // The body's fetch plan plus the ETag check that precedes it.
+        assertEquals(2, queryCounter.statementCount());
+    }
+
+    private List<Member> seed(int memberCount) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < memberCount; i++) {
+            Member member = new Member();
+            member.setFirstName("First" + i);
+            member.setLastName("Last" + i);
+            member.setEmail("member" + i + "@example.com");
+            member.setGender(i % 2 == 0 ? 'F' : 'M');
+            member.setCity("Lyon");
+            member.getVehicles().add(vehicleRepository.save(createVehicle("FP-" + i + "-A")));
+            member.getVehicles().add(vehicleRepository.save(createVehicle("FP-" + i + "-B")));
+            members.add(member);
+        }
+        return memberRepository.saveAll(members);
+    }
+
+    private Vehicle createVehicle(String licensePlate) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate(licensePlate);
+        vehicle.setMake("Jaguar");
+        vehicle.setModel("E-Type");
+        vehicle.setYear(1963);
+        return vehicle;
+    }
+}
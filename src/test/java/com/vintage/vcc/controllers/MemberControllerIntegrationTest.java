@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vintage.vcc.controlers.MemberController;
 import com.vintage.vcc.exceptions.MemberNotFoundException;
 import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.MemberPageDTO;
+import com.vintage.vcc.model.dtos.MemberPatchDTO;
 import com.vintage.vcc.model.dtos.VehicleDTO;
 import com.vintage.vcc.services.MemberService;
+import com.vintage.vcc.services.ResourceVersion;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -17,10 +21,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -45,6 +52,12 @@ class MemberControllerIntegrationTest {
     @InjectMocks
     private MemberController memberController;
 
+    @BeforeEach
+    void setUp() {
+        when(memberService.getAllMembersVersion()).thenReturn(new ResourceVersion("members-v1", null));
+        when(memberService.getMemberVersion(anyLong())).thenReturn(new ResourceVersion("member-v1", Instant.parse("2024-01-01T00:00:00Z")));
+    }
+
     @Test
     void createMember_ValidInput_Success() throws Exception {
         MemberDTO memberDTO = new MemberDTO();
@@ -125,6 +138,32 @@ class MemberControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Failed to retrieve members"));
     }
     @Test
+    void getMembersPage_Success() throws Exception {
+        MemberPageDTO memberPageDTO = new MemberPageDTO();
+        memberPageDTO.setMembers(List.of(
+                createMemberDTO(3L, "Fabio", "Lopez", "fabio@example.com", 'M', "Paris", Collections.emptyList())));
+        memberPageDTO.setLimit(1);
+        memberPageDTO.setHasMore(true);
+        memberPageDTO.setNextAfter(3L);
+        when(memberService.getMembersPage(2L, 1)).thenReturn(memberPageDTO);
+
+        mockMvc.perform(get("/api/members")
+                        .param("after", "2")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members[0].memberId").value(3L))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextAfter").value(3L));
+    }
+    @Test
+    void getMembersPage_LimitTooLarge_Failure() throws Exception {
+        when(memberService.getMembersPage(anyLong(), anyInt())).thenReturn(new MemberPageDTO());
+
+        mockMvc.perform(get("/api/members")
+                        .param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+    @Test
     void getMemberById_Success() throws Exception {
         Long memberId = 1L;
         MemberDTO memberDTO = createMemberDTO(memberId, "Fabio", "Lopez", "fabio@example.com", 'M', "Paris", Collections.emptyList());
@@ -155,9 +194,9 @@ class MemberControllerIntegrationTest {
         memberDTO.setEmail("john@example.com");
         memberDTO.setCity("New York");
 
-        when(memberService.updateMemberById(any(Long.class), any(MemberDTO.class))).thenReturn(memberDTO);
+        when(memberService.updateMemberById(any(Long.class), any(MemberPatchDTO.class))).thenReturn(memberDTO);
 
-        mockMvc.perform(put("/api/members/{id}", 1L)
+        mockMvc.perform(patch("/api/members/{id}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(memberDTO)))
                 .andExpect(status().isOk())
@@ -169,10 +208,10 @@ class MemberControllerIntegrationTest {
         memberDTO.setMemberId(1L);
         memberDTO.setFirstName("UpdatedName");
 
-        when(memberService.updateMemberById(any(Long.class), any(MemberDTO.class)))
+        when(memberService.updateMemberById(any(Long.class), any(MemberPatchDTO.class)))
                 .thenThrow(new MemberNotFoundException("Member not found"));
 
-        mockMvc.perform(put("/api/members/{id}", 1L)
+        mockMvc.perform(patch("/api/members/{id}", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(memberDTO)))
                 .andExpect(status().isNotFound())
@@ -0,0 +1,96 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.QueryCounter;
+import com.vintage.vcc.repositories.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    void importMembersFromJson_ReportsEveryRow() throws Exception {
+        String body = """
+                [
+                  {"firstName": "Ada", "lastName": "Lovelace", "email": "ada@example.com", "gender": "F", "city": "London"},
+                  {"firstName": "", "lastName": "Babbage", "email": "charles@example.com", "gender": "M", "city": "London"},
+                  {"firstName": "Ada", "lastName": "Byron", "email": "ada@example.com", "gender": "F", "city": "London"},
+                  {"firstName": "Grace", "lastName": "Hopper", "email": "grace@example.com", "gender": "F", "city": "New York"}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/members/import")
+                        .param("batchSize", "2")
+                        .param("errorsOnly", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRows").value(4))
+                .andExpect(jsonPath("$.importedRows").value(2))
+                .andExpect(jsonPath("$.rejectedRows").value(2))
+                .andExpect(jsonPath("$.rows[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.rows[1].errors[0]").value("First name field cannot be empty."))
+                .andExpect(jsonPath("$.rows[2].errors[0]").value("Member with email ada@example.com already exists"))
+                .andExpect(jsonPath("$.rows[3].status").value("IMPORTED"));
+
+        assertEquals(2, memberRepository.count());
+    }
+
+    @Test
+    void importMembersFromCsvFile_InsertsInBatches() throws Exception {
+        String csv = "firstName,lastName,email,gender,city\n" + IntStream.range(0, 40)
+                .mapToObj(i -> "First" + i + ",\"Last, " + i + "\",csv" + i + "@example.com,M,Lyon")
+                .collect(Collectors.joining("\n"));
+        QueryCounter queryCounter = new QueryCounter(entityManagerFactory);
+        queryCounter.reset();
+
+        mockMvc.perform(multipart("/api/members/import")
+                        .file(new MockMultipartFile("file", "roster.csv", "text/csv", csv.getBytes()))
+                        .param("batchSize", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(40))
+                .andExpect(jsonPath("$.rows").isEmpty());
+
+        assertEquals(40, memberRepository.count());
+        assertTrue(queryCounter.statementCount() < 10, "expected batched inserts but saw " + queryCounter.statementCount());
+    }
+
+    @Test
+    void importMembersFromJson_NotAnArray_Failure() throws Exception {
+        mockMvc.perform(post("/api/members/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Ada\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Expected a JSON array of members"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MergePatchIntegrationTest {
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Grace\", \"lastName\": \"Hopper\", \"email\": \"grace.patch@example.com\", \"gender\": \"F\", \"city\": \"Arlington\"}"))
+                .andExpect(status().isOk());
+        memberId = memberRepository.findAll().get(0).getMemberId();
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"PAT-1\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/PAT-1"))
+                .andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void updateMemberById_ChangesOnlyPatchedFieldsAndKeepsVehicles() throws Exception {
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"city\": \"New York\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Grace"))
+                .andExpect(jsonPath("$.city").value("New York"))
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("PAT-1"));
+    }
+
+    @Test
+    void updateMemberById_StaleVersion_Conflict() throws Exception {
+        Long version = memberRepository.findById(memberId).orElseThrow().getVersion();
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"city\": \"New York\", \"version\": " + version + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(version + 1));
+
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"city\": \"Boston\", \"version\": " + version + "}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void updateMemberById_MemberNotFound() throws Exception {
+        mockMvc.perform(patch("/api/members/" + (memberId + 1000))
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"city\": \"New York\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateVehicleByLicensePlate_ChangesOnlyPatchedFields() throws Exception {
+        mockMvc.perform(patch("/api/vehicles/PAT-1")
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"year\": 1962}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.make").value("Jaguar"))
+                .andExpect(jsonPath("$.year").value(1962));
+
+        mockMvc.perform(patch("/api/vehicles/PAT-1")
+                        .contentType(MERGE_PATCH_JSON_VALUE)
+                        .content("{\"make\": \"Bentley\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+    }
+}
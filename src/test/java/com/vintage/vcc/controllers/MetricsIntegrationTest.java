@@ -0,0 +1,53 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void prometheus_ExposesServiceRepositoryPoolAndSerializationMetrics() throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"MET-1\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles/MET-1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("vcc_service_seconds_count{class=\"com.vintage.vcc.services.VehicleServiceImpl\",exception=\"none\",method=\"getVehicleByLicensePlate\""),
+                        containsString("spring_data_repository_invocations_seconds_count{exception=\"None\",method=\"findByLicensePlate\",repository=\"VehicleRepository\""),
+                        containsString("vcc_http_json_write_seconds_count{uri=\"/api/vehicles/{licensePlate}\""),
+                        containsString("hikaricp_connections_pending"),
+                        containsString("hibernate_statements_total"))));
+    }
+}
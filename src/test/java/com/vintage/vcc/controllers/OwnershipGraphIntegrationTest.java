@@ -0,0 +1,111 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.OwnershipGraphService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OwnershipGraphIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private OwnershipGraphService ownershipGraphService;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+        ownershipGraphService.rebuildGraph();
+    }
+
+    @Test
+    void ownershipGraph_FollowsServiceWritePaths() throws Exception {
+        String camille = createMember("Camille", "camille.own@example.com", "Lyon");
+        String louis = createMember("Louis", "louis.own@example.com", "Lyon");
+        String ines = createMember("Ines", "ines.own@example.com", "Paris");
+        createVehicle("OWN-1");
+        createVehicle("OWN-2");
+        mockMvc.perform(put("/api/members/" + camille + "/vehicles/OWN-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/members/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"memberId\": " + louis + ", \"licensePlate\": \"OWN-1\"}, " +
+                                "{\"memberId\": " + louis + ", \"licensePlate\": \"OWN-2\"}, " +
+                                "{\"memberId\": " + ines + ", \"licensePlate\": \"OWN-2\"}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/ownership/members/" + louis + "/co-owners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].sharedVehicles").value(1));
+        mockMvc.perform(get("/api/ownership/members/" + camille + "/component"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memberIds", hasSize(3)))
+                .andExpect(jsonPath("$.licensePlates", contains("OWN-1", "OWN-2")));
+        mockMvc.perform(get("/api/ownership/clusters").param("city", "Lyon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].licensePlates", contains("OWN-1", "OWN-2")));
+
+        mockMvc.perform(delete("/api/vehicles/OWN-2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/ownership/members/" + ines + "/component"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.licensePlates", hasSize(0)));
+
+        mockMvc.perform(delete("/api/members/" + camille))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/ownership/members/" + louis + "/co-owners"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void coOwners_MemberNotFound() throws Exception {
+        mockMvc.perform(get("/api/ownership/members/987654/co-owners"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String createMember(String firstName, String email, String city) throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"" + firstName + "\", \"lastName\": \"Roux\", \"email\": \"" + email +
+                                "\", \"gender\": \"F\", \"city\": \"" + city + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+    }
+
+    private void createVehicle(String licensePlate) throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"" + licensePlate + "\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,116 @@
+package com.vintage.vcc.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vintage.vcc.config.EncodingConfig;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.VehicleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.compression.enabled=true",
+        "server.compression.mime-types=application/json,application/x-jackson-smile",
+        "server.compression.min-response-size=2KB"
+})
+class ResponseEncodingIntegrationTest {
+    private static final int VEHICLES = 50;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        List<VehicleDTO> vehicleDTOs = IntStream.range(0, VEHICLES)
+                .mapToObj(i -> {
+                    VehicleDTO vehicleDTO = new VehicleDTO();
+                    vehicleDTO.setLicensePlate("ENC-" + i);
+                    vehicleDTO.setMake("Jaguar");
+                    vehicleDTO.setModel("E-Type");
+                    vehicleDTO.setYear(1961);
+                    return vehicleDTO;
+                })
+                .toList();
+        vehicleService.createVehicles(vehicleDTOs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void getAllVehicles_AcceptSmile_ReturnsSmileWithSharedStrings() throws Exception {
+        HttpResponse<byte[]> smile = get("/api/vehicles", EncodingConfig.APPLICATION_SMILE_VALUE, null);
+        HttpResponse<byte[]> json = get("/api/vehicles", MediaType.APPLICATION_JSON_VALUE, null);
+
+        assertEquals(200, smile.statusCode());
+        assertEquals(EncodingConfig.APPLICATION_SMILE_VALUE, smile.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        assertTrue(smile.headers().allValues(HttpHeaders.VARY).stream()
+                .flatMap(vary -> Arrays.stream(vary.split(",")))
+                .anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase));
+        JsonNode vehicles = new ObjectMapper(new SmileFactory()).readTree(smile.body());
+        assertEquals(VEHICLES, vehicles.size());
+        assertEquals(new ObjectMapper().readTree(json.body()), vehicles);
+        assertTrue(smile.body().length < json.body().length / 2);
+    }
+
+    @Test
+    void getAllVehicles_AcceptGzip_CompressesLargeBody() throws Exception {
+        HttpResponse<byte[]> response = get("/api/vehicles", MediaType.APPLICATION_JSON_VALUE, "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElseThrow().startsWith("W/"));
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes();
+        assertEquals(VEHICLES, new ObjectMapper().readTree(body).size());
+    }
+
+    @Test
+    void getVehicleByLicensePlate_AcceptGzip_LeavesSmallBodyUncompressed() throws Exception {
+        HttpResponse<byte[]> response = get("/api/vehicles/ENC-1", MediaType.APPLICATION_JSON_VALUE, "gzip");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        assertEquals("ENC-1", new ObjectMapper().readTree(response.body()).path("licensePlate").asText());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,136 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RosterExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adaId;
+    private String graceId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adaId = createMember("Ada", "ada.export@example.com", "London, UK");
+        graceId = createMember("Grace", "grace.export@example.com", "Arlington");
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"licensePlate\": \"EX-1\", \"make\": \"Jaguar\", \"model\": \"E-Type \\\"S1\\\"\", \"year\": 1961}, " +
+                                "{\"licensePlate\": \"EX-2\", \"make\": \"MG\", \"model\": \"TD\", \"year\": 1953}, " +
+                                "{\"licensePlate\": \"EX-3\", \"make\": \"Austin\", \"model\": \"Seven\", \"year\": 1930}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/members/" + adaId + "/vehicles/EX-1")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/members/" + adaId + "/vehicles/EX-2")).andExpect(status().isOk());
+        mockMvc.perform(put("/api/members/" + graceId + "/vehicles/EX-2")).andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void exportMembers_StreamsCsvRowPerMemberVehicle() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/members/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertEquals("text/csv", result.getResponse().getContentType());
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("members.csv"));
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertEquals(List.of(
+                "memberId,firstName,lastName,email,gender,city,licensePlate,make,model,year",
+                adaId + ",Ada,Lovelace,ada.export@example.com,F,\"London, UK\",EX-1,Jaguar,\"E-Type \"\"S1\"\"\",1961",
+                adaId + ",Ada,Lovelace,ada.export@example.com,F,\"London, UK\",EX-2,MG,TD,1953",
+                graceId + ",Grace,Lovelace,grace.export@example.com,F,Arlington,EX-2,MG,TD,1953"), lines);
+    }
+
+    @Test
+    void exportVehicles_StreamsCsvRowPerVehicleOwner() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/vehicles/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        List<String> lines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().lines().toList();
+
+        assertEquals(5, lines.size());
+        assertEquals("licensePlate,make,model,year,ownerId,ownerFirstName,ownerLastName,ownerEmail", lines.get(0));
+        assertEquals("EX-2,MG,TD,1953," + adaId + ",Ada,Lovelace,ada.export@example.com", lines.get(2));
+        assertEquals("EX-3,Austin,Seven,1930,,,,", lines.get(4));
+    }
+
+    @Test
+    void exportMembers_Xlsx_WritesWorkbook() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/api/members/export").param("format", "XLSX"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("members.xlsx"));
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            Sheet sheet = workbook.getSheet("Members");
+            assertEquals(3, sheet.getLastRowNum());
+            assertEquals("email", sheet.getRow(0).getCell(3).getStringCellValue());
+            assertEquals("London, UK", sheet.getRow(1).getCell(5).getStringCellValue());
+            assertEquals(1961, sheet.getRow(1).getCell(9).getNumericCellValue());
+        }
+    }
+
+    @Test
+    void exportMembers_UnknownFormat_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/members/export").param("format", "PDF"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String createMember(String firstName, String email, String city) throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"" + firstName + "\", \"lastName\": \"Lovelace\", \"email\": \"" + email +
+                                "\", \"gender\": \"F\", \"city\": \"" + city + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+    }
+}
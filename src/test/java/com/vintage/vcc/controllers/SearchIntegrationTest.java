@@ -0,0 +1,95 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService.rebuildIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void search_FollowsServiceWritePaths() throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"camille.roux@example.com\", \"gender\": \"F\", \"city\": \"Lyon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String memberId = member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"LY-1961\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/LY-1961"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/search").param("q", "that red Jag from Lyon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("vehicle"))
+                .andExpect(jsonPath("$[0].id").value("LY-1961"))
+                .andExpect(jsonPath("$[0].title").value("Jaguar E-Type (1961)"))
+                .andExpect(jsonPath("$[1].type").value("member"))
+                .andExpect(jsonPath("$[1].id").value(memberId));
+
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"camille.roux@example.com\", \"gender\": \"F\", \"city\": \"Geneva\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/search").param("q", "geneva"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(delete("/api/members/" + memberId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/search").param("q", "camile roux"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void search_BlankQuery_Failure() throws Exception {
+        mockMvc.perform(get("/api/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,101 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import com.vintage.vcc.services.RosterStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private RosterStatsService rosterStatsService;
+
+    @BeforeEach
+    void setUp() {
+        rosterStatsService.rebuildSnapshot();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void stats_FollowServiceWritePaths() throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"camille.stats@example.com\", \"gender\": \"F\", \"city\": \"Lyon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String memberId = member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+        mockMvc.perform(post("/api/vehicles/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"licensePlate\": \"ST-1\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}, " +
+                                "{\"licensePlate\": \"ST-2\", \"make\": \"Jaguar\", \"model\": \"XK120\", \"year\": 1948}, " +
+                                "{\"licensePlate\": \"ST-3\", \"make\": \"MG\", \"model\": \"TD\", \"year\": 1953}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/stats/members/by-city"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].key").value("Lyon"))
+                .andExpect(jsonPath("$[0].count").value(1));
+        mockMvc.perform(get("/api/stats/vehicles/by-make"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("Jaguar"))
+                .andExpect(jsonPath("$[0].count").value(2));
+        mockMvc.perform(get("/api/stats/vehicles/by-decade"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].key").value("1940"));
+
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"city\": \"Geneva\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/vehicles/ST-2"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/stats/members/by-city"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("Geneva"));
+        mockMvc.perform(get("/api/stats/vehicles/year-histogram").param("bucketSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].key").value("1950"));
+    }
+
+    @Test
+    void yearHistogram_InvalidBucketSize_Failure() throws Exception {
+        mockMvc.perform(get("/api/stats/vehicles/year-histogram").param("bucketSize", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
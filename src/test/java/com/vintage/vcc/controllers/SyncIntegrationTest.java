@@ -0,0 +1,143 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.changes.ChangeRelay;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The watermarks are counted from explicit relays, on a database of their own that no other context's scheduled relay
+// can number.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vintage_sync;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "vcc.changes.relay-interval=1h"
+})
+@AutoConfigureMockMvc
+class SyncIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ChangeRelay changeRelay;
+
+    private long watermark;
+
+    @BeforeEach
+    void setUp() {
+        changeRelay.relay();
+        watermark = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequence_number), 0) FROM change_outbox", Long.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void sync_ReturnsChangedRowsOnceWithLinksAndTombstones() throws Exception {
+        String memberId = createMember("camille.sync@example.com");
+        createVehicle("SY-1");
+        createVehicle("SY-2");
+        mockMvc.perform(put("/api/members/" + memberId + "/vehicles/SY-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/vehicles/SY-2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/members/" + memberId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"city\": \"Annecy\"}"))
+                .andExpect(status().isOk());
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/sync").param("since", String.valueOf(watermark)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members", hasSize(1)))
+                .andExpect(jsonPath("$.members[0].city").value("Annecy"))
+                .andExpect(jsonPath("$.members[0].licensePlates", contains("SY-1")))
+                .andExpect(jsonPath("$.vehicles", hasSize(1)))
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("SY-1"))
+                .andExpect(jsonPath("$.vehicles[0].owners").doesNotExist())
+                .andExpect(jsonPath("$.deletedMemberIds", hasSize(0)))
+                .andExpect(jsonPath("$.deletedLicensePlates", contains("SY-2")))
+                .andExpect(jsonPath("$.watermark").value(watermark + 7))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(delete("/api/members/" + memberId))
+                .andExpect(status().isOk());
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/sync").param("since", String.valueOf(watermark + 7)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members", hasSize(0)))
+                .andExpect(jsonPath("$.deletedMemberIds", contains(Integer.parseInt(memberId))))
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("SY-1"))
+                .andExpect(jsonPath("$.watermark").value(watermark + 9));
+    }
+
+    @Test
+    void sync_PagesByWatermark() throws Exception {
+        createVehicle("SY-3");
+        createVehicle("SY-4");
+        changeRelay.relay();
+
+        mockMvc.perform(get("/api/sync").param("since", String.valueOf(watermark)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("SY-3"))
+                .andExpect(jsonPath("$.watermark").value(watermark + 1))
+                .andExpect(jsonPath("$.hasMore").value(true));
+        mockMvc.perform(get("/api/sync").param("since", String.valueOf(watermark + 1)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("SY-4"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void sync_NoChangesKeepsWatermark() throws Exception {
+        mockMvc.perform(get("/api/sync").param("since", String.valueOf(watermark)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members", hasSize(0)))
+                .andExpect(jsonPath("$.vehicles", hasSize(0)))
+                .andExpect(jsonPath("$.watermark").value(watermark))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    private String createMember(String email) throws Exception {
+        String member = mockMvc.perform(post("/api/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Camille\", \"lastName\": \"Roux\", \"email\": \"" + email + "\", \"gender\": \"F\", \"city\": \"Lyon\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return member.replaceAll(".*\"memberId\":(\\d+).*", "$1");
+    }
+
+    private void createVehicle(String licensePlate) throws Exception {
+        mockMvc.perform(post("/api/vehicles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"licensePlate\": \"" + licensePlate + "\", \"make\": \"Jaguar\", \"model\": \"E-Type\", \"year\": 1961}"))
+                .andExpect(status().isOk());
+    }
+}
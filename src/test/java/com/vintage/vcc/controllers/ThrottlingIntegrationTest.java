@@ -0,0 +1,106 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.config.ClientKey;
+import com.vintage.vcc.throttling.AdaptiveConcurrencyLimit;
+import com.vintage.vcc.throttling.ThrottlingFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "vcc.throttling.enabled=true",
+        "vcc.throttling.requests-per-second=0.1",
+        "vcc.throttling.burst=10",
+        "vcc.throttling.list-cost=5",
+        "vcc.throttling.min-concurrency=1",
+        "vcc.throttling.max-concurrency=4",
+        "vcc.throttling.sample-interval=1h",
+        "vcc.clients.api-keys=dealer-a,dealer-b,dealer-c"
+})
+@AutoConfigureMockMvc
+class ThrottlingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AdaptiveConcurrencyLimit concurrencyLimit;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void listings_CostMoreAndAreLimitedPerClient() throws Exception {
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "dealer-a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "dealer-a"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "dealer-a"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        mockMvc.perform(get("/api/members").header(ClientKey.API_KEY_HEADER, "dealer-b"))
+                .andExpect(status().isOk());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/members").param("limit", "10").header(ClientKey.API_KEY_HEADER, "dealer-b"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/members").param("limit", "10").header(ClientKey.API_KEY_HEADER, "dealer-b"))
+                .andExpect(status().isTooManyRequests());
+
+        assertTrue(meterRegistry.get(ThrottlingFilter.SHED_COUNTER).tag("reason", "rate_limited").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum() >= 2);
+    }
+
+    @Test
+    void unknownApiKeys_ShareTheAddressBucket() throws Exception {
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "random-1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "random-2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/vehicles").header(ClientKey.API_KEY_HEADER, "random-3"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void slowPool_LowersLimitAndShedsWithServiceUnavailable() throws Exception {
+        Timer slowPool = Timer.builder(AdaptiveConcurrencyLimit.POOL_ACQUIRE_TIMER)
+                .tag("pool", "throttling-test")
+                .register(meterRegistry);
+        for (int i = 0; i < 3; i++) {
+            slowPool.record(Duration.ofSeconds(1));
+            concurrencyLimit.adjust();
+        }
+        assertEquals(1, concurrencyLimit.limit());
+
+        assertTrue(concurrencyLimit.tryAcquire());
+        try {
+            mockMvc.perform(get("/api/vehicles/byParams").header(ClientKey.API_KEY_HEADER, "dealer-c"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "3600"))
+                    .andExpect(jsonPath("$.status").value(503));
+        } finally {
+            concurrencyLimit.release();
+        }
+        assertEquals(1, meterRegistry.get(ThrottlingFilter.SHED_COUNTER).tag("reason", "overloaded").counter().count());
+
+        concurrencyLimit.adjust();
+        assertEquals(2, concurrencyLimit.limit());
+        mockMvc.perform(get("/api/vehicles/ERS-404").header(ClientKey.API_KEY_HEADER, "dealer-c"))
+                .andExpect(status().isNotFound());
+    }
+}
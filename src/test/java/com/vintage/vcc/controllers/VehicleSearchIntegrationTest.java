@@ -0,0 +1,103 @@
+package com.vintage.vcc.controllers;
+
+import com.vintage.vcc.model.entities.Vehicle;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class VehicleSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        vehicleRepository.saveAll(List.of(
+                vehicle("JAG-1", "Jaguar", "E-Type", 1961),
+                vehicle("JAG-2", "Jaguar", "XK120", 1948),
+                vehicle("JAG-3", "Jaguar", "Mark 2", 1959),
+                vehicle("JEN-1", "Jensen", "Interceptor", 1966),
+                vehicle("MER-1", "Mercedes", "300 SL", 1954)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void searchVehicles_PrefixAndYearRange_Success() throws Exception {
+        mockMvc.perform(get("/api/vehicles/search")
+                        .param("make", "ja")
+                        .param("yearFrom", "1950")
+                        .param("yearTo", "1970")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles.length()").value(1))
+                .andExpect(jsonPath("$.vehicles[0].licensePlate").value("JAG-1"))
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2));
+
+        mockMvc.perform(get("/api/vehicles/search")
+                        .param("make", "J")
+                        .param("yearFrom", "1950"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    @Test
+    void searchVehicles_WildcardsAreLiteral() throws Exception {
+        mockMvc.perform(get("/api/vehicles/search").param("model", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void getVehiclesByParams_OnlyGivenFilters() throws Exception {
+        mockMvc.perform(get("/api/vehicles/byParams").param("make", "Jaguar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        mockMvc.perform(get("/api/vehicles/byParams").param("make", "Jaguar").param("year", "1959"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].licensePlate").value("JAG-3"));
+    }
+
+    @Test
+    void vehiclesTable_HasSearchIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'VEHICLES' AND INDEX_NAME LIKE 'IDX_VEHICLES_%' ORDER BY INDEX_NAME",
+                String.class);
+        assertEquals(List.of("IDX_VEHICLES_MAKE", "IDX_VEHICLES_MODEL", "IDX_VEHICLES_YEAR"), indexes);
+    }
+
+    private static Vehicle vehicle(String licensePlate, String make, String model, int year) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate(licensePlate);
+        vehicle.setMake(make);
+        vehicle.setModel(model);
+        vehicle.setYear(year);
+        return vehicle;
+    }
+}
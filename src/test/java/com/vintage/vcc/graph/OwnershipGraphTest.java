@@ -0,0 +1,94 @@
+package com.vintage.vcc.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OwnershipGraphTest {
+
+    private OwnershipGraph ownershipGraph;
+
+    @BeforeEach
+    void setUp() {
+        ownershipGraph = new OwnershipGraph();
+        ownershipGraph.setMemberLinks(1, "Lyon", List.of("JAG-1", "JAG-2"));
+        ownershipGraph.setMemberLinks(2, "Lyon", List.of("JAG-1", "JAG-2"));
+        ownershipGraph.setMemberLinks(3, "Paris", List.of("JAG-2", "MG-1"));
+        ownershipGraph.setMemberLinks(4, "Lyon", List.of("MG-1"));
+        ownershipGraph.setMemberLinks(5, "Lyon", List.of("FER-1"));
+    }
+
+    @Test
+    void coOwners_RanksByNumberOfSharedVehicles() {
+        assertEquals(List.of(new CoOwner(2, 2), new CoOwner(3, 1)), ownershipGraph.coOwners(1));
+        assertEquals(List.of(), ownershipGraph.coOwners(5));
+        assertEquals(List.of(), ownershipGraph.coOwners(42));
+    }
+
+    @Test
+    void component_FollowsSharedOwnershipTransitively() {
+        assertEquals(new OwnershipComponent(List.of(1L, 2L, 3L, 4L), List.of("JAG-1", "JAG-2", "MG-1")),
+                ownershipGraph.component(4));
+        assertNull(ownershipGraph.component(42));
+    }
+
+    @Test
+    void clusters_OnlyWalkThroughMembersOfTheCity() {
+        assertEquals(List.of(new OwnershipComponent(List.of(1L, 2L), List.of("JAG-1", "JAG-2"))),
+                ownershipGraph.clusters("lyon", 2, 10));
+        assertEquals(3, ownershipGraph.clusters(" LYON ", 1, 10).size());
+        assertEquals(List.of(), ownershipGraph.clusters("Turin", 1, 10));
+    }
+
+    @Test
+    void setMemberLinks_ReplacesLinksAndReleasesUnlinkedNodes() {
+        ownershipGraph.setMemberLinks(3, "Lyon", List.of("MG-1"));
+
+        assertEquals(List.of(new CoOwner(2, 2)), ownershipGraph.coOwners(1));
+        assertEquals(List.of(new OwnershipComponent(List.of(3L, 4L), List.of("MG-1"))),
+                ownershipGraph.clusters("Lyon", 2, 10).subList(1, 2));
+
+        ownershipGraph.setMemberLinks(5, "Lyon", Set.of());
+
+        assertFalse(ownershipGraph.containsMember(5));
+        assertEquals(4, ownershipGraph.memberCount());
+        assertEquals(3, ownershipGraph.vehicleCount());
+    }
+
+    @Test
+    void setVehicleOwners_RemovesVehicleAndMembersLeftWithoutVehicles() {
+        ownershipGraph.setVehicleOwners("MG-1", Map.of());
+
+        assertEquals(new OwnershipComponent(List.of(1L, 2L, 3L), List.of("JAG-1", "JAG-2")), ownershipGraph.component(1));
+        assertFalse(ownershipGraph.containsMember(4));
+
+        ownershipGraph.setVehicleOwners("MG-1", Map.of(4L, "Lyon", 5L, "Lyon"));
+
+        assertEquals(List.of(new CoOwner(5, 1)), ownershipGraph.coOwners(4));
+    }
+
+    @Test
+    void slots_AreReusedAfterRelease() {
+        for (int round = 0; round < 3; round++) {
+            for (long memberId = 100; memberId < 300; memberId++) {
+                ownershipGraph.setMemberLinks(memberId, "Turin", List.of("T-" + memberId / 2));
+            }
+            for (long memberId = 100; memberId < 300; memberId++) {
+                ownershipGraph.setMemberLinks(memberId, "Turin", List.of());
+            }
+        }
+        ownershipGraph.setMemberLinks(100, "Turin", List.of("T-1"));
+        ownershipGraph.setMemberLinks(101, "Turin", List.of("T-1"));
+
+        assertEquals(List.of(new OwnershipComponent(List.of(100L, 101L), List.of("T-1"))),
+                ownershipGraph.clusters("Turin", 1, 10));
+        assertEquals(7, ownershipGraph.memberCount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.vintage.vcc.mappers;
+
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.entities.Member;
+import com.vintage.vcc.model.entities.Vehicle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityMapperTest {
+
+    private final EntityMapper entityMapper = new EntityMapper();
+
+    @Test
+    void toMemberDTO_ScalarsOnly_LeavesVehiclesNull() {
+        MemberDTO memberDTO = entityMapper.toMemberDTO(createMemberWithVehicle(), EntityMapper.SCALARS_ONLY);
+
+        assertEquals(1L, memberDTO.getMemberId());
+        assertEquals("Lyon", memberDTO.getCity());
+        assertEquals('F', memberDTO.getGender());
+        assertNull(memberDTO.getVehicles());
+    }
+
+    @Test
+    void toMemberDTO_WithLinked_MapsOneLevel() {
+        MemberDTO memberDTO = entityMapper.toMemberDTO(createMemberWithVehicle(), EntityMapper.WITH_LINKED);
+
+        assertEquals(1, memberDTO.getVehicles().size());
+        VehicleDTO vehicleDTO = memberDTO.getVehicles().get(0);
+        assertEquals("ABC123", vehicleDTO.getLicensePlate());
+        assertEquals(1963, vehicleDTO.getYear());
+        assertNull(vehicleDTO.getOwners());
+    }
+
+    @Test
+    void toVehicleDTO_DepthTwo_FollowsBackLink() {
+        Member member = createMemberWithVehicle();
+
+        VehicleDTO vehicleDTO = entityMapper.toVehicleDTO(member.getVehicles().get(0), 2);
+
+        MemberDTO ownerDTO = vehicleDTO.getOwners().get(0);
+        assertEquals("Ada", ownerDTO.getFirstName());
+        assertEquals("ABC123", ownerDTO.getVehicles().get(0).getLicensePlate());
+        assertNull(ownerDTO.getVehicles().get(0).getOwners());
+    }
+
+    @Test
+    void toMember_IgnoresIdAndVehicles() {
+        MemberDTO memberDTO = entityMapper.toMemberDTO(createMemberWithVehicle(), EntityMapper.WITH_LINKED);
+
+        Member member = entityMapper.toMember(memberDTO);
+
+        assertNull(member.getMemberId());
+        assertEquals("Lovelace", member.getLastName());
+        assertTrue(member.getVehicles().isEmpty());
+    }
+
+    private Member createMemberWithVehicle() {
+        Member member = new Member();
+        member.setMemberId(1L);
+        member.setFirstName("Ada");
+        member.setLastName("Lovelace");
+        member.setEmail("ada@example.com");
+        member.setGender('F');
+        member.setCity("Lyon");
+
+        Vehicle vehicle = new Vehicle();
+        vehicle.setLicensePlate("ABC123");
+        vehicle.setMake("Jaguar");
+        vehicle.setModel("E-Type");
+        vehicle.setYear(1963);
+        vehicle.getOwners().add(member);
+        member.getVehicles().add(vehicle);
+        return member;
+    }
+}
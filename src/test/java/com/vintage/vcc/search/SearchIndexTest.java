@@ -0,0 +1,75 @@
+package com.vintage.vcc.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex();
+        searchIndex.put(new SearchDocument("vehicle", "JAG-1", "Jaguar E-Type (1961)", "JAG-1"),
+                new SearchTerms().add("Jaguar", 3f).add("E-Type", 3f).add("Lyon", 1.5f).weights());
+        searchIndex.put(new SearchDocument("vehicle", "JAG-2", "Jaguar XK120 (1948)", "JAG-2"),
+                new SearchTerms().add("Jaguar", 3f).add("XK120", 3f).add("London", 1.5f).weights());
+        searchIndex.put(new SearchDocument("member", "1", "Amélie Durand", "amelie@example.com, Lyon"),
+                new SearchTerms().add("Amélie", 3f).add("Durand", 3f).add("Lyon", 1.5f).weights());
+    }
+
+    @Test
+    void search_RanksDocumentsMatchingMoreTokensFirst() {
+        List<SearchHit> hits = searchIndex.search("that red Jag from Lyon", 10);
+
+        assertEquals(List.of("vehicle:JAG-1", "vehicle:JAG-2", "member:1"), keys(hits));
+    }
+
+    @Test
+    void search_ToleratesTyposAndAccents() {
+        assertEquals(List.of("vehicle:JAG-1", "vehicle:JAG-2"), keys(searchIndex.search("jagwar", 10)));
+        assertEquals(List.of("member:1"), keys(searchIndex.search("AMELIE durnad", 10)));
+    }
+
+    @Test
+    void put_ReplacesPreviousVersionOfDocument() {
+        searchIndex.put(new SearchDocument("vehicle", "JAG-1", "Jaguar E-Type (1961)", "JAG-1"),
+                new SearchTerms().add("Jaguar", 3f).add("Paris", 1.5f).weights());
+        searchIndex.remove("vehicle", "JAG-2");
+
+        assertEquals(List.of("vehicle:JAG-1"), keys(searchIndex.search("jaguar", 10)));
+        assertEquals(List.of("member:1"), keys(searchIndex.search("lyon", 10)));
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void remove_CompactsOnceManyDocumentsAreDead() {
+        for (int i = 0; i < 5_000; i++) {
+            searchIndex.put(new SearchDocument("member", "m" + i, "Member " + i, ""),
+                    new SearchTerms().add("Bulk", 1f).add("member" + i, 3f).weights());
+        }
+        for (int i = 0; i < 4_000; i++) {
+            searchIndex.remove("member", "m" + i);
+        }
+
+        assertEquals(1_003, searchIndex.size());
+        assertEquals(List.of("member:m4999"), keys(searchIndex.search("member4999", 1)));
+        assertEquals(1_000, searchIndex.search("bulk", 5_000).size());
+        assertEquals(3, searchIndex.search("jaguar lyon", 10).size());
+    }
+
+    @Test
+    void editDistance_StopsAtLimit() {
+        assertEquals(1, SearchIndex.editDistance("jagwar", "jaguar", 1));
+        assertEquals(2, SearchIndex.editDistance("lodnon", "london", 2));
+        assertEquals(2, SearchIndex.editDistance("porsche", "ferrari", 1));
+    }
+
+    private static List<String> keys(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.document().key()).toList();
+    }
+}
@@ -0,0 +1,170 @@
+package com.vintage.vcc.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EmailNotificationIntegrationTest {
+    private static final HttpServer SENDGRID = startSendGrid();
+    private static final BlockingQueue<String> REQUESTS = new LinkedBlockingQueue<>();
+    private static final BlockingQueue<Integer> STATUSES = new LinkedBlockingQueue<>();
+
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void notificationProperties(DynamicPropertyRegistry registry) {
+        registry.add("vcc.notifications.enabled", () -> "true");
+        registry.add("vcc.notifications.sendgrid.api-key", () -> "test-key");
+        registry.add("vcc.notifications.sendgrid.host", () -> "localhost:" + SENDGRID.getAddress().getPort());
+        registry.add("vcc.notifications.sendgrid.plain-http", () -> "true");
+        registry.add("vcc.notifications.linger", () -> "100ms");
+        registry.add("vcc.notifications.initial-backoff", () -> "10ms");
+    }
+
+    @BeforeEach
+    void setUp() {
+        REQUESTS.clear();
+        STATUSES.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void stopSendGrid() {
+        SENDGRID.stop(0);
+    }
+
+    @Test
+    void createMember_SendsWelcomeEmailWithSubstitutions() throws Exception {
+        memberService.createMember(createMemberDTO("ada.welcome@example.com", "Ada"));
+
+        JsonNode mail = nextMail();
+        assertEquals("Welcome to the Vintage Car Club", mail.path("subject").asText());
+        assertTrue(mail.path("content").get(0).path("value").asText().contains("-firstName-"));
+        JsonNode personalization = mail.path("personalizations").get(0);
+        assertEquals("ada.welcome@example.com", personalization.path("to").get(0).path("email").asText());
+        assertEquals("Ada", personalization.path("substitutions").path("-firstName-").asText());
+        assertEquals("Lyon", personalization.path("substitutions").path("-city-").asText());
+    }
+
+    @Test
+    void assignVehicleToMember_SendsVehicleAssignedEmail() throws Exception {
+        Long memberId = memberService.createMember(createMemberDTO("ada.garage@example.com", "Ada")).getMemberId();
+        nextMail();
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate("MAIL-1");
+        vehicleDTO.setMake("Jaguar");
+        vehicleDTO.setModel("E-Type");
+        vehicleDTO.setYear(1961);
+        vehicleService.createVehicle(vehicleDTO);
+
+        memberService.assignVehicleToMember(memberId, "MAIL-1");
+
+        JsonNode substitutions = nextMail().path("personalizations").get(0).path("substitutions");
+        assertEquals("Jaguar", substitutions.path("-make-").asText());
+        assertEquals("1961", substitutions.path("-year-").asText());
+        assertEquals("MAIL-1", substitutions.path("-licensePlate-").asText());
+    }
+
+    @Test
+    void createMember_RetriesAfterServerError() throws Exception {
+        STATUSES.add(500);
+
+        memberService.createMember(createMemberDTO("ada.retry@example.com", "Ada"));
+
+        assertNotNull(REQUESTS.poll(10, TimeUnit.SECONDS));
+        JsonNode retried = nextMail();
+        assertEquals("ada.retry@example.com", retried.path("personalizations").get(0).path("to").get(0).path("email").asText());
+    }
+
+    @Test
+    void createMember_BatchesRecipientsIntoPersonalizations() throws Exception {
+        int members = 20;
+        for (int i = 0; i < members; i++) {
+            memberService.createMember(createMemberDTO("member" + i + "@example.com", "Member" + i));
+        }
+
+        int personalizations = 0;
+        int requests = 0;
+        while (personalizations < members) {
+            personalizations += nextMail().path("personalizations").size();
+            requests++;
+        }
+        assertEquals(members, personalizations);
+        assertTrue(requests < members);
+    }
+
+    private JsonNode nextMail() throws Exception {
+        String body = REQUESTS.poll(10, TimeUnit.SECONDS);
+        assertNotNull(body, "no email was sent");
+        return objectMapper.readTree(body);
+    }
+
+    private static MemberDTO createMemberDTO(String email, String firstName) {
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setFirstName(firstName);
+        memberDTO.setLastName("Lovelace");
+        memberDTO.setEmail(email);
+        memberDTO.setGender('F');
+        memberDTO.setCity("Lyon");
+        return memberDTO;
+    }
+
+    /**
+     * Stands in for the SendGrid v3 API: records each mail/send body and answers with the next scripted status,
+     * 202 when none is left.
+     */
+    private static HttpServer startSendGrid() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/v3/mail/send", exchange -> {
+                REQUESTS.add(new String(exchange.getRequestBody().readAllBytes()));
+                Integer status = STATUSES.poll();
+                exchange.sendResponseHeaders(status == null ? 202 : status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
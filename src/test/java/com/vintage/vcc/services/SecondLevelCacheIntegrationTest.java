@@ -0,0 +1,128 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.QueryCounter;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleAssignmentDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.entities.Vehicle;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"
+})
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        entityManagerFactory.getCache().evictAll();
+        vehicleService.createVehicle(createVehicleDTO("L2-1", "Jaguar"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM member_vehicle");
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void findById_SecondLookupServedFromSecondLevelCache() {
+        vehicleRepository.findById("L2-1");
+        queryCounter.reset();
+
+        assertEquals("Jaguar", vehicleRepository.findById("L2-1").orElseThrow().getMake());
+
+        assertEquals(0, queryCounter.statementCount());
+        assertTrue(cacheStatsService.getCacheStats(Vehicle.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void updateMakeByLicensePlate_EvictsCachedVehicle() {
+        vehicleRepository.findById("L2-1");
+
+        transactionTemplate.executeWithoutResult(status -> vehicleRepository.updateMakeByLicensePlate("Bentley", "L2-1", Instant.now()));
+
+        assertEquals("Bentley", vehicleRepository.findById("L2-1").orElseThrow().getMake());
+    }
+
+    @Test
+    void assignVehiclesToMembers_EvictsCachedCollections() {
+        Long memberId = memberService.createMember(createMemberDTO()).getMemberId();
+        assertEquals(0, vehicleCount(memberId));
+        assertEquals(0, ownerCount("L2-1"));
+        assertEquals(0, memberService.getAllMembers().get(0).getVehicles().size());
+
+        VehicleAssignmentDTO assignment = new VehicleAssignmentDTO();
+        assignment.setMemberId(memberId);
+        assignment.setLicensePlate("L2-1");
+        memberService.assignVehiclesToMembers(List.of(assignment));
+
+        assertEquals(1, vehicleCount(memberId));
+        assertEquals(1, ownerCount("L2-1"));
+        assertEquals(1, memberService.getAllMembers().get(0).getVehicles().size());
+    }
+
+    private int vehicleCount(Long memberId) {
+        return transactionTemplate.execute(status -> memberRepository.findById(memberId).orElseThrow().getVehicles().size());
+    }
+
+    private int ownerCount(String licensePlate) {
+        return transactionTemplate.execute(status -> vehicleRepository.findById(licensePlate).orElseThrow().getOwners().size());
+    }
+
+    private MemberDTO createMemberDTO() {
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setFirstName("Ada");
+        memberDTO.setLastName("Lovelace");
+        memberDTO.setEmail("ada.l2@example.com");
+        memberDTO.setGender('F');
+        memberDTO.setCity("Lyon");
+        return memberDTO;
+    }
+
+    private VehicleDTO createVehicleDTO(String licensePlate, String make) {
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate(licensePlate);
+        vehicleDTO.setMake(make);
+        vehicleDTO.setModel("Continental");
+        vehicleDTO.setYear(1955);
+        return vehicleDTO;
+    }
+}
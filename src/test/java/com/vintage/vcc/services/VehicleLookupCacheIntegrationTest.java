@@ -0,0 +1,119 @@
+package com.vintage.vcc.services;
+
+import com.vintage.vcc.QueryCounter;
+import com.vintage.vcc.config.CacheConfig;
+import com.vintage.vcc.model.dtos.MemberDTO;
+import com.vintage.vcc.model.dtos.VehicleDTO;
+import com.vintage.vcc.model.dtos.VehiclePatchDTO;
+import com.vintage.vcc.repositories.MemberRepository;
+import com.vintage.vcc.repositories.VehicleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class VehicleLookupCacheIntegrationTest {
+
+    @Autowired
+    private VehicleService vehicleService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private QueryCounter queryCounter;
+
+    @BeforeEach
+    void setUp() {
+        queryCounter = new QueryCounter(entityManagerFactory);
+        cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE).clear();
+        vehicleService.createVehicle(createVehicleDTO("CACHE-1", "Jaguar"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+        vehicleRepository.deleteAll();
+    }
+
+    @Test
+    void getVehicleByLicensePlate_SecondLookupServedFromCache() {
+        long hitsBefore = cacheStatsService.getCacheStats(CacheConfig.VEHICLES_BY_LICENSE_PLATE).getHitCount();
+        queryCounter.reset();
+
+        vehicleService.getVehicleByLicensePlate("CACHE-1");
+        VehicleDTO vehicleDTO = vehicleService.getVehicleByLicensePlate("CACHE-1");
+
+        assertEquals("Jaguar", vehicleDTO.getMake());
+        assertEquals(1, queryCounter.statementCount());
+        assertEquals(hitsBefore + 1, cacheStatsService.getCacheStats(CacheConfig.VEHICLES_BY_LICENSE_PLATE).getHitCount());
+    }
+
+    @Test
+    void updateVehicleByLicensePlate_EvictsCachedEntry() {
+        vehicleService.getVehicleByLicensePlate("CACHE-1");
+
+        VehiclePatchDTO vehiclePatchDTO = new VehiclePatchDTO();
+        vehiclePatchDTO.setMake("Bentley");
+        vehicleService.updateVehicleByLicensePlate("CACHE-1", vehiclePatchDTO);
+
+        assertEquals("Bentley", vehicleService.getVehicleByLicensePlate("CACHE-1").getMake());
+    }
+
+    @Test
+    void assignVehicleToMember_EvictsCachedEntry() {
+        vehicleService.getVehicleByLicensePlate("CACHE-1");
+        MemberDTO memberDTO = new MemberDTO();
+        memberDTO.setFirstName("Ada");
+        memberDTO.setLastName("Lovelace");
+        memberDTO.setEmail("ada.cache@example.com");
+        memberDTO.setGender('F');
+        memberDTO.setCity("Lyon");
+        Long memberId = memberService.createMember(memberDTO).getMemberId();
+
+        memberService.assignVehicleToMember(memberId, "CACHE-1");
+
+        assertNull(cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE).get("CACHE-1"));
+    }
+
+    @Test
+    void updateVehicleByLicensePlate_DiscardsRowLoadedByAnOverlappingRead() {
+        VehicleDTO stale = vehicleService.getVehicleByLicensePlate("CACHE-1");
+        cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE).clear();
+
+        VehiclePatchDTO vehiclePatchDTO = new VehiclePatchDTO();
+        vehiclePatchDTO.setMake("Bentley");
+        // A read that loaded the row before the update committed finishes after the update's eviction.
+        VehicleDTO loaded = cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE).get("CACHE-1", () -> {
+            vehicleService.updateVehicleByLicensePlate("CACHE-1", vehiclePatchDTO);
+            return stale;
+        });
+
+        assertEquals("Jaguar", loaded.getMake());
+        assertNull(cacheManager.getCache(CacheConfig.VEHICLES_BY_LICENSE_PLATE).get("CACHE-1"));
+        assertEquals("Bentley", vehicleService.getVehicleByLicensePlate("CACHE-1").getMake());
+    }
+
+    private VehicleDTO createVehicleDTO(String licensePlate, String make) {
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setLicensePlate(licensePlate);
+        vehicleDTO.setMake(make);
+        vehicleDTO.setModel("Continental");
+        vehicleDTO.setYear(1955);
+        return vehicleDTO;
+    }
+}
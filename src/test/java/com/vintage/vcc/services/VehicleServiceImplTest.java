@@ -1,8 +1,8 @@
 package com.vintage.vcc.services;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vintage.vcc.exceptions.VehicleNotFoundException;
+import com.vintage.vcc.mappers.EntityMapper;
 import com.vintage.vcc.model.dtos.VehicleDTO;
 import com.vintage.vcc.model.entities.Vehicle;
 import com.vintage.vcc.repositories.VehicleRepository;
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,8 +23,8 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
-    @Mock
-    private ObjectMapper objectMapper;
+    @Spy
+    private EntityMapper entityMapper;
 
     @InjectMocks
     private VehicleServiceImpl vehicleServiceImpl;
@@ -34,10 +35,16 @@ class VehicleServiceTest {
         String licensePlate = "ABC123";
         Vehicle vehicleEntity = new Vehicle();
         vehicleEntity.setLicensePlate(licensePlate);
-        VehicleDTO expectedDTO = new VehicleDTO(); // Set expected DTO values here
+        vehicleEntity.setMake("Jaguar");
+        vehicleEntity.setModel("E-Type");
+        vehicleEntity.setYear(1963);
+        VehicleDTO expectedDTO = new VehicleDTO();
+        expectedDTO.setLicensePlate(licensePlate);
+        expectedDTO.setMake("Jaguar");
+        expectedDTO.setModel("E-Type");
+        expectedDTO.setYear(1963);
 
         when(vehicleRepository.findByLicensePlate(licensePlate)).thenReturn(vehicleEntity);
-        when(objectMapper.convertValue(vehicleEntity, VehicleDTO.class)).thenReturn(expectedDTO);
 
         // When
         VehicleDTO resultDTO = vehicleServiceImpl.getVehicleByLicensePlate(licensePlate);
@@ -47,7 +54,7 @@ class VehicleServiceTest {
         assertEquals(expectedDTO, resultDTO);
 
         verify(vehicleRepository, times(1)).findByLicensePlate(licensePlate);
-        verify(objectMapper, times(1)).convertValue(vehicleEntity, VehicleDTO.class);
+        verify(entityMapper, times(1)).toVehicleDTO(vehicleEntity, EntityMapper.SCALARS_ONLY);
     }
 
     @Test
@@ -63,7 +70,7 @@ class VehicleServiceTest {
 
         verify(vehicleRepository, times(1)).findByLicensePlate(licensePlate);
 
-        verifyNoInteractions(objectMapper);
+        verifyNoInteractions(entityMapper);
 
         assertEquals("Vehicle with license plate: " + licensePlate + " not found", exception.getMessage());
     }